@@ -0,0 +1,85 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.dagsp.DAGLongestPath;
+import kz.edu.daa.graph.dagsp.DAGShortestPath;
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.scc.CondensationGraph;
+import kz.edu.daa.graph.scc.ParallelEdgePolicy;
+import kz.edu.daa.graph.scc.TarjanSCC;
+import kz.edu.daa.graph.topo.KahnAlgorithm;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import kz.edu.daa.graph.topo.TopologicalSortResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each pipeline phase in isolation: inputs for a phase are prepared once per trial,
+ * so a benchmark only measures its own algorithm. Metrics are disabled.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AlgorithmBenchmark {
+    @Param({"1000", "100000"})
+    public int vertices;
+
+    /** Average out-degree (edges per vertex). */
+    @Param({"2", "8"})
+    public int density;
+
+    @Param({"DAG", "GIANT_SCC", "CLUSTERED"})
+    public GraphShape shape;
+
+    private Graph graph;
+    private List<List<Integer>> sccs;
+    private Graph minDAG;
+    private Graph maxDAG;
+    private TopologicalOrder order;
+    private int sourceSCC;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = shape.build(vertices, density, 42);
+        sccs = new TarjanSCC(graph, NoOpMetrics.INSTANCE).findSCCs();
+        CondensationGraph condensation = new CondensationGraph(graph, sccs);
+        minDAG = condensation.getCondensationDAG(ParallelEdgePolicy.MIN);
+        maxDAG = condensation.getCondensationDAG(ParallelEdgePolicy.MAX);
+        order = TopologicalOrder.of(minDAG, NoOpMetrics.INSTANCE);
+        sourceSCC = condensation.getSCCOfVertex(0);
+    }
+
+    @Benchmark
+    public List<List<Integer>> tarjan() {
+        return new TarjanSCC(graph, NoOpMetrics.INSTANCE).findSCCs();
+    }
+
+    @Benchmark
+    public Graph condensation() {
+        return new CondensationGraph(graph, sccs).getCondensationDAG();
+    }
+
+    @Benchmark
+    public TopologicalSortResult kahn() {
+        return new KahnAlgorithm(minDAG, NoOpMetrics.INSTANCE).sortWithResult();
+    }
+
+    @Benchmark
+    public DAGShortestPath shortestPath() {
+        DAGShortestPath sp = new DAGShortestPath(minDAG, order, sourceSCC, NoOpMetrics.INSTANCE);
+        sp.computeShortestPaths();
+        return sp;
+    }
+
+    @Benchmark
+    public DAGLongestPath longestPath() {
+        DAGLongestPath lp = new DAGLongestPath(maxDAG, order, sourceSCC, NoOpMetrics.INSTANCE);
+        lp.computeLongestPaths();
+        return lp;
+    }
+}
@@ -0,0 +1,61 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.dagsp.CriticalPathMethod;
+import kz.edu.daa.graph.dagsp.DAGLongestPath;
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import kz.edu.daa.utils.PerformanceBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-pass CriticalPathMethod over the whole DAG against DAGLongestPath from vertex 0,
+ * which gives the length only, with no slack. cpm reruns both passes on an instance
+ * prepared once per trial.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CriticalPathBenchmark {
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /** Average out-degree (edges per vertex). */
+    @Param({"2", "8"})
+    public int density;
+
+    private CSRGraph dag;
+    private TopologicalOrder order;
+    private CriticalPathMethod cpm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dag = CSRGraph.fromGraph(PerformanceBenchmark.layeredDAG(
+                vertices, vertices * density, Math.max(1, vertices / 20_000), 42));
+        order = TopologicalOrder.of(dag, NoOpMetrics.INSTANCE);
+        cpm = new CriticalPathMethod(dag, order, NoOpMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public long longestPath() {
+        DAGLongestPath lp = new DAGLongestPath(dag, order, 0, NoOpMetrics.INSTANCE);
+        lp.computeLongestPaths();
+        return lp.getCriticalPathLength();
+    }
+
+    @Benchmark
+    public CriticalPathMethod prepare() {
+        return new CriticalPathMethod(dag, order, NoOpMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public long cpm() {
+        cpm.compute();
+        return cpm.getProjectLength();
+    }
+}
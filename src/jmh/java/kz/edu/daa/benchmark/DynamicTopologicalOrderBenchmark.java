@@ -0,0 +1,74 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.topo.DynamicTopologicalOrder;
+import kz.edu.daa.graph.topo.KahnAlgorithm;
+import kz.edu.daa.graph.topo.TopologicalSortResult;
+import kz.edu.daa.utils.PerformanceBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-insertion latency of DynamicTopologicalOrder against a full Kahn re-sort. Every
+ * inserted edge respects the vertex labels of the generated DAG, so it stays acyclic;
+ * the order and the update stream are reset every iteration.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DynamicTopologicalOrderBenchmark {
+    /** Local dependencies reach at most this many labels ahead. */
+    private static final int LOCAL_SPAN = 1_000;
+
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /** Average out-degree (edges per vertex). */
+    @Param({"2", "8"})
+    public int density;
+
+    private Graph dag;
+    private CSRGraph csr;
+    private DynamicTopologicalOrder order;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dag = PerformanceBenchmark.randomDAG(vertices, vertices * density, 42);
+        csr = CSRGraph.fromGraph(dag);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        order = new DynamicTopologicalOrder(dag, NoOpMetrics.INSTANCE);
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public boolean insertLocal() {
+        return insert(LOCAL_SPAN);
+    }
+
+    @Benchmark
+    public boolean insertAnywhere() {
+        return insert(vertices);
+    }
+
+    @Benchmark
+    public TopologicalSortResult kahnResort() {
+        return new KahnAlgorithm(csr, NoOpMetrics.INSTANCE).sortWithResult();
+    }
+
+    private boolean insert(int span) {
+        int u = random.nextInt(vertices - 1);
+        int v = u + 1 + random.nextInt(Math.min(span, vertices - u - 1));
+        return order.addEdge(u, v, 1 + random.nextInt(10));
+    }
+}
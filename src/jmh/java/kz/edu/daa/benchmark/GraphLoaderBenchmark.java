@@ -0,0 +1,99 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.utils.GraphBinaryFormat;
+import kz.edu.daa.utils.GraphLoader;
+import kz.edu.daa.utils.LoadedGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading cost: the graph is written once per trial to temporary files in the JSON
+ * dataset format and in GraphBinaryFormat, then loaded on every invocation. The scan
+ * variants also touch every edge, which is where a mapped file pays for its pages.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GraphLoaderBenchmark {
+    @Param({"1000", "100000"})
+    public int vertices;
+
+    @Param({"2", "8"})
+    public int density;
+
+    @Param({"DAG", "GIANT_SCC", "CLUSTERED"})
+    public GraphShape shape;
+
+    private Path file;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Graph graph = shape.build(vertices, density, 42);
+        file = Files.createTempFile("daa-bench-", ".json");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("{\n  \"directed\": true,\n  \"n\": " + graph.getNumVertices() + ",\n  \"edges\": [");
+            boolean first = true;
+            for (int u = 0; u < graph.getNumVertices(); u++) {
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    writer.write(first ? "\n" : ",\n");
+                    writer.write("    {\"u\": " + u + ", \"v\": " + graph.getEdgeTarget(u, i)
+                            + ", \"w\": " + graph.getEdgeWeight(u, i) + "}");
+                    first = false;
+                }
+            }
+            writer.write("\n  ],\n  \"source\": 0,\n  \"weight_model\": \"edge\"\n}\n");
+        }
+        binaryFile = Files.createTempFile("daa-bench-", GraphBinaryFormat.FILE_EXTENSION);
+        GraphLoader.writeBinary(new LoadedGraph(graph, 0, "edge"), binaryFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public Graph loadFromJson() throws IOException {
+        return GraphLoader.loadFromJson(file.toString());
+    }
+
+    @Benchmark
+    public LoadedGraph load() throws IOException {
+        return GraphLoader.load(file.toString());
+    }
+
+    @Benchmark
+    public long loadAndScan() throws IOException {
+        return scan(GraphLoader.load(file.toString()).getGraph());
+    }
+
+    @Benchmark
+    public LoadedGraph loadBinary() throws IOException {
+        return GraphLoader.loadBinary(binaryFile.toString());
+    }
+
+    @Benchmark
+    public long loadBinaryAndScan() throws IOException {
+        return scan(GraphLoader.loadBinary(binaryFile.toString()).getGraph());
+    }
+
+    private static long scan(AdjacencyGraph graph) {
+        long[] sum = new long[1];
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            graph.forEachEdge(u, (to, weight) -> sum[0] += to + weight);
+        }
+        return sum[0];
+    }
+}
@@ -0,0 +1,34 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.utils.PerformanceBenchmark;
+
+/**
+ * SCC structures the benchmarks are parameterized over, built with the same seeded
+ * generators as PerformanceBenchmark.
+ */
+public enum GraphShape {
+    /** Acyclic: every vertex is its own SCC. */
+    DAG {
+        @Override
+        Graph build(int n, int degree, long seed) {
+            return PerformanceBenchmark.randomDAG(n, n * degree, seed);
+        }
+    },
+    /** Uniform random edges: one giant SCC plus a few stragglers. */
+    GIANT_SCC {
+        @Override
+        Graph build(int n, int degree, long seed) {
+            return PerformanceBenchmark.randomGraph(n, n * degree, seed);
+        }
+    },
+    /** Cycles of 16 vertices linked forward: many small SCCs. */
+    CLUSTERED {
+        @Override
+        Graph build(int n, int degree, long seed) {
+            return PerformanceBenchmark.clusteredGraph(n, 16, degree, seed);
+        }
+    };
+
+    abstract Graph build(int n, int degree, long seed);
+}
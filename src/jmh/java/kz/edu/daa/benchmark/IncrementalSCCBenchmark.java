@@ -0,0 +1,63 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.scc.IncrementalSCC;
+import kz.edu.daa.utils.PerformanceBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-insertion latency of IncrementalSCC against recomputing it from scratch. Sampled,
+ * so the report has the latency percentiles; the structure and the update stream are
+ * reset every iteration, so insertions never pile up past one iteration's worth.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IncrementalSCCBenchmark {
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /** Average out-degree (edges per vertex). */
+    @Param({"2", "8"})
+    public int density;
+
+    private Graph graph;
+    private IncrementalSCC incremental;
+    private Random random;
+    private int inserted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = PerformanceBenchmark.clusteredGraph(vertices, 8, density, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        incremental = new IncrementalSCC(graph, NoOpMetrics.INSTANCE);
+        random = new Random(7);
+        inserted = 0;
+    }
+
+    /** Mostly forward dependencies, plus every tenth a short back edge that may close a cycle. */
+    @Benchmark
+    public boolean insert() {
+        int u = random.nextInt(vertices - 1);
+        int v = inserted++ % 10 == 0
+                ? Math.max(0, u - 1 - random.nextInt(64))
+                : u + 1 + random.nextInt(vertices - u - 1);
+        return incremental.addEdge(u, v, 1 + random.nextInt(10));
+    }
+
+    @Benchmark
+    public int rebuild() {
+        incremental.rebuild();
+        return incremental.getNumComponents();
+    }
+}
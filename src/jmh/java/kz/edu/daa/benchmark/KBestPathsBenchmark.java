@@ -0,0 +1,78 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.dagsp.DAGLongestPath;
+import kz.edu.daa.graph.dagsp.KBestPaths;
+import kz.edu.daa.graph.dagsp.PathMode;
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import kz.edu.daa.utils.PerformanceBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * K longest paths from vertex 0 of a layered DAG, for growing K, against the single
+ * longest path. sweep reruns compute on an instance prepared once per trial, and
+ * topPaths rebuilds the best K paths from its result. The candidate slots take up to
+ * 12 bytes per vertex and rank, hence the larger heap.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class KBestPathsBenchmark {
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /** Average out-degree (edges per vertex). */
+    @Param({"2", "8"})
+    public int density;
+
+    /** Paths kept per vertex. */
+    @Param({"1", "10", "100"})
+    public int k;
+
+    private CSRGraph dag;
+    private TopologicalOrder order;
+    private KBestPaths kBest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dag = CSRGraph.fromGraph(PerformanceBenchmark.layeredDAG(
+                vertices, vertices * density, Math.max(1, vertices / 20_000), 42));
+        order = TopologicalOrder.of(dag, NoOpMetrics.INSTANCE);
+        kBest = new KBestPaths(dag, order, 0, k, PathMode.LONGEST, NoOpMetrics.INSTANCE);
+        kBest.compute();
+    }
+
+    @Benchmark
+    public DAGLongestPath longestPath() {
+        DAGLongestPath lp = new DAGLongestPath(dag, order, 0, NoOpMetrics.INSTANCE);
+        lp.computeLongestPaths();
+        return lp;
+    }
+
+    @Benchmark
+    public KBestPaths prepare() {
+        return new KBestPaths(dag, order, 0, k, PathMode.LONGEST, NoOpMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public long sweep() {
+        kBest.compute();
+        return kBest.getNumSlots();
+    }
+
+    /** Returns the total number of vertices on the top K paths. */
+    @Benchmark
+    public long topPaths() {
+        long pathVertices = 0;
+        for (KBestPaths.RankedPath path : kBest.getTopPaths()) {
+            pathVertices += kBest.getPath(path.getTarget(), path.getRank()).size();
+        }
+        return pathVertices;
+    }
+}
@@ -0,0 +1,73 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.dagsp.DAGShortestPath;
+import kz.edu.daa.graph.dagsp.IncrementalDAGPaths;
+import kz.edu.daa.graph.dagsp.PathMode;
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.topo.DynamicTopologicalOrder;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import kz.edu.daa.utils.PerformanceBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IncrementalDAGPaths repairing shortest paths after one weight change, against
+ * recomputing DAGShortestPath. The repair is sampled for its latency percentiles; the
+ * distances and the update stream are reset every iteration.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PathRepairBenchmark {
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /** Average out-degree (edges per vertex). */
+    @Param({"2", "8"})
+    public int density;
+
+    private Graph graph;
+    private CSRGraph csr;
+    private TopologicalOrder order;
+    private IncrementalDAGPaths paths;
+    private DynamicTopologicalOrder dag;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = PerformanceBenchmark.layeredDAG(vertices, vertices * density, Math.max(1, vertices / 20_000), 42);
+        csr = CSRGraph.fromGraph(graph);
+        order = TopologicalOrder.of(csr, NoOpMetrics.INSTANCE);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        paths = new IncrementalDAGPaths(graph, 0, PathMode.SHORTEST, NoOpMetrics.INSTANCE);
+        dag = paths.getGraph();
+        random = new Random(7);
+    }
+
+    /** Returns the vertices whose distance changed. */
+    @Benchmark
+    public int[] updateWeight() {
+        int u = random.nextInt(vertices);
+        while (dag.getOutDegree(u) == 0) {
+            u = random.nextInt(vertices);
+        }
+        return paths.updateWeight(u, random.nextInt(dag.getOutDegree(u)), 1 + random.nextInt(10));
+    }
+
+    @Benchmark
+    public DAGShortestPath fullRecompute() {
+        DAGShortestPath sp = new DAGShortestPath(csr, order, 0, NoOpMetrics.INSTANCE);
+        sp.computeShortestPaths();
+        return sp;
+    }
+}
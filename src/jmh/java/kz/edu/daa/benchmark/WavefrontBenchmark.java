@@ -0,0 +1,73 @@
+package kz.edu.daa.benchmark;
+
+import kz.edu.daa.graph.dagsp.DAGShortestPath;
+import kz.edu.daa.graph.dagsp.WavefrontRelaxation;
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import kz.edu.daa.utils.PerformanceBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential DAGShortestPath against level-parallel WavefrontRelaxation on a wide
+ * layered DAG. The levels are prepared once per trial; prepare measures that step alone.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class WavefrontBenchmark {
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /** Average out-degree (edges per vertex). */
+    @Param({"2", "8"})
+    public int density;
+
+    /** Size of the pool the levels are relaxed on. */
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    private CSRGraph dag;
+    private TopologicalOrder order;
+    private ForkJoinPool pool;
+    private WavefrontRelaxation wavefront;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dag = CSRGraph.fromGraph(PerformanceBenchmark.layeredDAG(
+                vertices, vertices * density, Math.max(1, vertices / 20_000), 42));
+        order = TopologicalOrder.of(dag, NoOpMetrics.INSTANCE);
+        pool = new ForkJoinPool(threads);
+        wavefront = new WavefrontRelaxation(dag, order, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public DAGShortestPath sequential() {
+        DAGShortestPath sp = new DAGShortestPath(dag, order, 0, NoOpMetrics.INSTANCE);
+        sp.computeShortestPaths();
+        return sp;
+    }
+
+    @Benchmark
+    public DAGShortestPath wavefront() {
+        DAGShortestPath sp = new DAGShortestPath(dag, order, 0, NoOpMetrics.INSTANCE);
+        sp.computeShortestPaths(wavefront);
+        return sp;
+    }
+
+    @Benchmark
+    public WavefrontRelaxation prepare() {
+        return new WavefrontRelaxation(dag, order, pool);
+    }
+}
@@ -1,15 +1,26 @@
 package kz.edu.daa;
 
+import kz.edu.daa.graph.dagsp.CriticalPathMethod;
 import kz.edu.daa.graph.dagsp.DAGLongestPath;
 import kz.edu.daa.graph.dagsp.DAGShortestPath;
+import kz.edu.daa.graph.dagsp.KBestPaths;
+import kz.edu.daa.graph.dagsp.PathMode;
+import kz.edu.daa.graph.model.AdjacencyGraph;
 import kz.edu.daa.graph.model.Graph;
-import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.metrics.MetricsFactory;
 import kz.edu.daa.graph.scc.CondensationGraph;
+import kz.edu.daa.graph.scc.ParallelEdgePolicy;
 import kz.edu.daa.graph.scc.TarjanSCC;
 import kz.edu.daa.graph.topo.KahnAlgorithm;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import kz.edu.daa.graph.topo.TopologicalSortResult;
+import kz.edu.daa.utils.BatchRunner;
 import kz.edu.daa.utils.GraphLoader;
+import kz.edu.daa.utils.LoadedGraph;
 
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -21,6 +32,7 @@ public class Main {
     private static final String DATA_DIR = "data";
     private static final String DATASETS_DIR = DATA_DIR + "/generated";
     private static final String ORIGINAL_DATA = DATA_DIR + "/tasks.json";
+    private static final int TOP_PATHS = 3;
 
     public static void main(String[] args) throws IOException {
         System.out.println("========================================");
@@ -42,68 +54,87 @@ public class Main {
     }
 
     private static void runOnDataset(String filePath) throws IOException {
-        System.out.println("\n--- Processing: " + filePath + " ---");
-
         try {
-            Graph graph = GraphLoader.loadFromJson(filePath);
-            SimpleMetrics metrics = new SimpleMetrics();
+            processDataset(filePath, GraphLoader.load(filePath), System.out);
+        } catch (IOException e) {
+            System.err.println("ERROR: Failed to load or process " + filePath);
+            e.printStackTrace();
+        }
+    }
 
-            System.out.printf("Graph loaded: %d vertices, %d edges\n",
-                    graph.getNumVertices(), graph.getNumEdges());
+    // Whole pipeline for one file; all output goes to out so batch runs can buffer it
+    private static void processDataset(String filePath, LoadedGraph loaded, PrintStream out) {
+        out.println("\n--- Processing: " + filePath + " ---");
 
-            // Step 1: Find SCCs using Tarjan
-            System.out.println("\n[Step 1] Finding Strongly Connected Components (Tarjan)...");
-            TarjanSCC tarjanSCC = new TarjanSCC(graph, metrics);
-            List<List<Integer>> sccs = tarjanSCC.findSCCs();
+        AdjacencyGraph graph = loaded.getGraph();
+        Metrics metrics = MetricsFactory.create(); // -Ddaa.metrics=off|timing|sample:N|concurrent
 
-            System.out.printf("Found %d SCC(s)\n", sccs.size());
-            for (int i = 0; i < sccs.size(); i++) {
-                System.out.printf("  SCC %d: %s (size=%d)\n", i, sccs.get(i), sccs.get(i).size());
-            }
+        out.printf("Graph loaded: %d vertices, %d edges\n",
+                graph.getNumVertices(), graph.getNumEdges());
 
-            // Step 2: Build condensation graph
-            System.out.println("\n[Step 2] Building Condensation Graph...");
-            CondensationGraph condensationGraph = new CondensationGraph(graph, sccs);
-            Graph condensationDAG = condensationGraph.getCondensationDAG();
-
-            System.out.printf("Condensation DAG: %d vertices (SCCs), %d edges\n",
-                    condensationDAG.getNumVertices(), condensationDAG.getNumEdges());
-
-            // Step 3: Topological sort on condensation DAG
-            System.out.println("\n[Step 3] Topological Sort on Condensation DAG...");
-            KahnAlgorithm topoSort = new KahnAlgorithm(condensationDAG, metrics);
-            List<Integer> topoOrder = topoSort.sort();
-
-            System.out.println("Topological order of SCCs: " + topoOrder);
-            System.out.println("Is valid DAG: " + topoSort.isValidDAG());
-
-            // Step 4: Shortest paths in DAG
-            if (topoSort.isValidDAG()) {
-                System.out.println("\n[Step 4] Computing Shortest Paths in Condensation DAG...");
-                int source = GraphLoader.getSource(filePath);
-                int sourceSCC = condensationGraph.getSCCOfVertex(source);
-
-                DAGShortestPath shortestPath = new DAGShortestPath(condensationDAG, sourceSCC, metrics);
-                shortestPath.computeShortestPaths();
-                shortestPath.printPaths();
-
-                // Step 5: Longest paths (critical path)
-                System.out.println("\n[Step 5] Computing Longest Paths (Critical Path) in DAG...");
-                DAGLongestPath longestPath = new DAGLongestPath(condensationDAG, sourceSCC, metrics);
-                longestPath.computeLongestPaths();
-                longestPath.printPaths();
-            } else {
-                System.out.println("\n[Step 4-5] Skipped (graph is not a DAG)");
-            }
+        // Step 1: Find SCCs using Tarjan
+        out.println("\n[Step 1] Finding Strongly Connected Components (Tarjan)...");
+        TarjanSCC tarjanSCC = new TarjanSCC(graph, metrics);
+        List<List<Integer>> sccs = tarjanSCC.findSCCs();
 
-            // Print metrics
-            System.out.println("\n[Metrics]");
-            metrics.printSummary();
+        out.printf("Found %d SCC(s)\n", sccs.size());
+        for (int i = 0; i < sccs.size(); i++) {
+            out.printf("  SCC %d: %s (size=%d)\n", i, sccs.get(i), sccs.get(i).size());
+        }
 
-        } catch (IOException e) {
-            System.err.println("ERROR: Failed to load or process " + filePath);
-            e.printStackTrace();
+        // Step 2: Build condensation graph
+        out.println("\n[Step 2] Building Condensation Graph...");
+        CondensationGraph condensationGraph = new CondensationGraph(graph, sccs);
+        Graph condensationDAG = condensationGraph.getCondensationDAG();
+
+        out.printf("Condensation DAG: %d vertices (SCCs), %d edges\n",
+                condensationDAG.getNumVertices(), condensationDAG.getNumEdges());
+
+        // Step 3: Topological sort on condensation DAG
+        out.println("\n[Step 3] Topological Sort on Condensation DAG...");
+        TopologicalSortResult topoResult = new KahnAlgorithm(condensationDAG, metrics).sortWithResult();
+
+        out.println("Topological order of SCCs: " + topoResult.getOrder());
+        out.println("Is valid DAG: " + topoResult.isDAG());
+
+        // Step 4: Shortest paths in DAG
+        if (topoResult.isDAG()) {
+            // One order serves both path queries (same edges, only weights differ)
+            TopologicalOrder topoOrder = TopologicalOrder.from(topoResult);
+            out.println("\n[Step 4] Computing Shortest Paths in Condensation DAG...");
+            int source = loaded.getSource();
+            int sourceSCC = condensationGraph.getSCCOfVertex(source);
+
+            // Parallel inter-SCC edges keep their cheapest weight for shortest paths
+            Graph minDAG = condensationGraph.getCondensationDAG(ParallelEdgePolicy.MIN);
+            DAGShortestPath shortestPath = new DAGShortestPath(minDAG, topoOrder, sourceSCC, metrics);
+            shortestPath.computeShortestPaths();
+            shortestPath.printPaths(out);
+
+            // Step 5: Longest paths (critical path)
+            out.println("\n[Step 5] Computing Longest Paths (Critical Path) in DAG...");
+            // ... and their most expensive weight for the critical path
+            Graph maxDAG = condensationGraph.getCondensationDAG(ParallelEdgePolicy.MAX);
+            DAGLongestPath longestPath = new DAGLongestPath(maxDAG, topoOrder, sourceSCC, metrics);
+            longestPath.computeLongestPaths();
+            longestPath.printPaths(out);
+
+            // Slack of every SCC over the whole condensation, not just from the source
+            CriticalPathMethod cpm = new CriticalPathMethod(maxDAG, topoOrder, metrics);
+            cpm.compute();
+            cpm.printSummary(out);
+
+            // Near-critical chains from the source, not just the single longest one
+            KBestPaths kBest = new KBestPaths(maxDAG, topoOrder, sourceSCC, TOP_PATHS, PathMode.LONGEST, metrics);
+            kBest.compute();
+            kBest.printTopPaths(out);
+        } else {
+            out.println("\n[Step 4-5] Skipped (graph is not a DAG)");
         }
+
+        // Print metrics
+        out.println("\n[Metrics]");
+        metrics.printSummary(out);
     }
 
     private static void runOnAllGeneratedDatasets() throws IOException {
@@ -115,7 +146,7 @@ public class Main {
         }
 
         List<String> datasetFiles = new ArrayList<>();
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(datasetsPath, "*.json")) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(datasetsPath, "*.{json,daag}")) {
             for (Path path : stream) {
                 datasetFiles.add(path.toString());
             }
@@ -123,13 +154,26 @@ public class Main {
 
         datasetFiles.sort(String::compareTo);
 
-        for (String dataset : datasetFiles) {
-            try {
-                runOnDataset(dataset);
-                System.out.println("\n" + "=".repeat(50));
-            } catch (Exception e) {
-                System.err.println("ERROR processing " + dataset + ": " + e.getMessage());
-            }
+        // Files are read on an I/O stage and processed concurrently (-Ddaa.workers,
+        // -Ddaa.memoryMb, -Ddaa.ioConcurrency); output is printed in file order
+        BatchRunner runner = BatchRunner.fromSystemProperties();
+        System.out.printf("(%d workers, %d MB memory budget)\n",
+                runner.getWorkers(), runner.getMemoryLimitBytes() / (1024 * 1024));
+        try {
+            runner.run(datasetFiles, GraphLoader::load, (dataset, loaded, out) -> {
+                processDataset(dataset, loaded, out);
+                return null;
+            }, outcome -> {
+                System.out.print(outcome.getOutput());
+                if (outcome.isSuccess()) {
+                    System.out.println("\n" + "=".repeat(50));
+                } else {
+                    System.err.println("ERROR processing " + outcome.getFilePath() + ": "
+                            + outcome.getError().getMessage());
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }
@@ -0,0 +1,117 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Shortest or longest path distances from many sources over one prepared DAG.
+ *
+ * The graph is converted to CSR and the topological order is computed by the caller once;
+ * each query then only sweeps the part of the order after its source. Dense distance
+ * buffers are borrowed from a pool and cleaned during the compaction sweep, so a query
+ * allocates only its compact result. Queries fan out across the ForkJoinPool.
+ */
+public class BatchPathQuery {
+    private final CSRGraph graph;
+    private final TopologicalOrder order;
+    private final PathMode mode;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<long[]> scratchPool = new ConcurrentLinkedQueue<>();
+
+    public BatchPathQuery(AdjacencyGraph graph, TopologicalOrder order, PathMode mode) {
+        this(graph, order, mode, ForkJoinPool.commonPool());
+    }
+
+    public BatchPathQuery(AdjacencyGraph graph, TopologicalOrder order, PathMode mode, ForkJoinPool pool) {
+        if (order.size() != graph.getNumVertices()) {
+            throw new IllegalArgumentException("Topological order covers " + order.size()
+                    + " vertices, graph has " + graph.getNumVertices());
+        }
+        this.graph = CSRGraph.fromGraph(graph);
+        this.order = order;
+        this.mode = mode;
+        this.pool = pool;
+    }
+
+    /**
+     * Distances from every source, in the order the sources were given. All sources are
+     * checked before any query starts.
+     */
+    public List<SourceDistances> query(int[] sources) {
+        for (int source : sources) {
+            checkVertex(source);
+        }
+        return pool.submit(() -> IntStream.of(sources).parallel()
+                .mapToObj(this::query)
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Throws IllegalArgumentException if source is not a vertex of the graph.
+     */
+    public SourceDistances query(int source) {
+        checkVertex(source);
+        long[] scratch = scratchPool.poll();
+        if (scratch == null) {
+            scratch = new long[graph.getNumVertices()];
+            Arrays.fill(scratch, Long.MAX_VALUE);
+        }
+        try {
+            return relax(source, scratch);
+        } finally {
+            scratchPool.offer(scratch);
+        }
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= graph.getNumVertices()) {
+            throw new IllegalArgumentException("Invalid vertex: " + vertex);
+        }
+    }
+
+    // Longest paths run as shortest paths over negated weights, keeping the inner loop branch-free
+    private SourceDistances relax(int source, long[] dist) {
+        long sign = mode == PathMode.SHORTEST ? 1 : -1;
+        int start = order.positionOf(source);
+
+        dist[source] = 0;
+        int reached = 0;
+        for (int k = start; k < order.size(); k++) {
+            int u = order.vertexAt(k);
+            long du = dist[u];
+            if (du == Long.MAX_VALUE) continue;
+            reached++;
+
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = graph.getEdgeTarget(u, i);
+                long newDist = du + sign * graph.getEdgeWeight(u, i);
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                }
+            }
+        }
+
+        // Second sweep over the same suffix: compact in topological order and reset the buffer
+        int[] positions = new int[reached];
+        long[] distances = new long[reached];
+        int j = 0;
+        for (int k = start; k < order.size() && j < reached; k++) {
+            int u = order.vertexAt(k);
+            if (dist[u] != Long.MAX_VALUE) {
+                positions[j] = k;
+                distances[j++] = sign * dist[u];
+                dist[u] = Long.MAX_VALUE;
+            }
+        }
+        return new SourceDistances(source, mode, order, positions, distances);
+    }
+}
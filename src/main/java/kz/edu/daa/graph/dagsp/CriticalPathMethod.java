@@ -0,0 +1,215 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.Counter;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Critical path method (CPM) for a whole DAG: vertices are events, edge weights are the
+ * durations between them, and every vertex may start at time 0 at the earliest.
+ *
+ * Two linear passes over one shared topological order, both pull-based so each vertex
+ * is written exactly once:
+ * <pre>
+ *   forward  (in order, over the reverse CSR):  ES[v] = max(0, max over u -> v of ES[u] + w)
+ *   backward (reverse order, over the CSR):     LS[u] = min(T, min over u -> v of LS[v] - w)
+ * </pre>
+ * where T, the project length, is the largest ES. Total float is LS - ES; a vertex is
+ * critical when its float is 0, an edge u -> v when LS[v] - ES[u] - w is 0. The backward
+ * pass marks critical edges as it goes. All results live in flat primitive arrays
+ * (per-edge data indexed like CSRGraph's packed edges), so no per-task objects are made.
+ */
+public class CriticalPathMethod {
+    private final CSRGraph graph;
+    private final CSRGraph reverse;
+    private final TopologicalOrder order;
+    private final Metrics metrics;
+    private final Counter edgeScans;
+
+    private final long[] earliestStart;
+    private final long[] latestStart;
+    private final boolean[] criticalEdge; // indexed by CSRGraph edge offset
+    private final int numArcs;            // stored arcs, the end of the CSR offsets
+    private long projectLength;
+    private int numCriticalVertices;
+    private int numCriticalEdges;
+    private boolean computed;
+
+    public CriticalPathMethod(AdjacencyGraph graph, Metrics metrics) {
+        this(graph, null, metrics);
+    }
+
+    /**
+     * Uses a precomputed order instead of sorting again; it must be a topological order of graph.
+     */
+    public CriticalPathMethod(AdjacencyGraph graph, TopologicalOrder order, Metrics metrics) {
+        if (order != null && order.size() != graph.getNumVertices()) {
+            throw new IllegalArgumentException("Topological order covers " + order.size()
+                    + " vertices, graph has " + graph.getNumVertices());
+        }
+        this.graph = CSRGraph.fromGraph(graph);
+        this.reverse = this.graph.transpose();
+        this.order = order != null ? order : TopologicalOrder.of(graph, metrics);
+        this.metrics = metrics;
+        this.edgeScans = metrics.counter("CPM edge scans");
+        this.earliestStart = new long[graph.getNumVertices()];
+        this.latestStart = new long[graph.getNumVertices()];
+        this.numArcs = this.graph.getEdgeOffset(graph.getNumVertices());
+        this.criticalEdge = new boolean[numArcs];
+    }
+
+    public void compute() {
+        long startTime = System.nanoTime();
+        int n = graph.getNumVertices();
+
+        // Forward pass: earliest start from the in-edges, all finalized earlier in the order
+        long length = 0;
+        for (int k = 0; k < n; k++) {
+            int v = order.vertexAt(k);
+            long es = 0;
+            int degree = reverse.getOutDegree(v);
+            for (int i = 0; i < degree; i++) {
+                es = Math.max(es, earliestStart[reverse.getEdgeTarget(v, i)] + reverse.getEdgeWeight(v, i));
+            }
+            earliestStart[v] = es;
+            length = Math.max(length, es);
+        }
+        projectLength = length;
+
+        // Backward pass: latest start from the out-edges, marking zero-float edges
+        int criticalVertices = 0;
+        int criticalEdges = 0;
+        for (int k = n - 1; k >= 0; k--) {
+            int u = order.vertexAt(k);
+            long ls = length;
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                ls = Math.min(ls, latestStart[graph.getEdgeTarget(u, i)] - graph.getEdgeWeight(u, i));
+            }
+            latestStart[u] = ls;
+            if (ls == earliestStart[u]) {
+                criticalVertices++;
+            }
+            int base = graph.getEdgeOffset(u);
+            long es = earliestStart[u];
+            for (int i = 0; i < degree; i++) {
+                boolean critical = latestStart[graph.getEdgeTarget(u, i)] - es - graph.getEdgeWeight(u, i) == 0;
+                criticalEdge[base + i] = critical;
+                if (critical) {
+                    criticalEdges++;
+                }
+            }
+        }
+        numCriticalVertices = criticalVertices;
+        numCriticalEdges = criticalEdges;
+        computed = true;
+
+        edgeScans.add(3L * numArcs);
+        metrics.addTime("Critical Path Method", System.nanoTime() - startTime);
+    }
+
+    private void checkComputed() {
+        if (!computed) {
+            throw new IllegalStateException("compute() has not been called");
+        }
+    }
+
+    public long getProjectLength() {
+        checkComputed();
+        return projectLength;
+    }
+
+    public long getEarliestStart(int vertex) {
+        checkComputed();
+        return earliestStart[vertex];
+    }
+
+    public long getLatestStart(int vertex) {
+        checkComputed();
+        return latestStart[vertex];
+    }
+
+    /** Total float: how far the vertex can slip without delaying the project. */
+    public long getSlack(int vertex) {
+        checkComputed();
+        return latestStart[vertex] - earliestStart[vertex];
+    }
+
+    public boolean isCritical(int vertex) {
+        return getSlack(vertex) == 0;
+    }
+
+    /** Whether out-edge index of the vertex (as addressed by AdjacencyGraph) has zero float. */
+    public boolean isCriticalEdge(int vertex, int index) {
+        checkComputed();
+        return criticalEdge[graph.getEdgeOffset(vertex) + index];
+    }
+
+    public int getNumCriticalVertices() {
+        checkComputed();
+        return numCriticalVertices;
+    }
+
+    public int getNumCriticalEdges() {
+        checkComputed();
+        return numCriticalEdges;
+    }
+
+    /** Copies of the result arrays, indexed by vertex. */
+    public long[] getEarliestStarts() {
+        checkComputed();
+        return earliestStart.clone();
+    }
+
+    public long[] getLatestStarts() {
+        checkComputed();
+        return latestStart.clone();
+    }
+
+    /** Critical vertices in topological order. */
+    public int[] getCriticalVertices() {
+        checkComputed();
+        int[] result = new int[numCriticalVertices];
+        int j = 0;
+        for (int k = 0; k < order.size(); k++) {
+            int v = order.vertexAt(k);
+            if (latestStart[v] == earliestStart[v]) {
+                result[j++] = v;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Critical edges as parallel arrays {sources, targets}, ordered by source vertex
+     * and then by out-edge index.
+     */
+    public int[][] getCriticalEdges() {
+        checkComputed();
+        int[] sources = new int[numCriticalEdges];
+        int[] targets = new int[numCriticalEdges];
+        int j = 0;
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            int base = graph.getEdgeOffset(u);
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                if (criticalEdge[base + i]) {
+                    sources[j] = u;
+                    targets[j++] = graph.getEdgeTarget(u, i);
+                }
+            }
+        }
+        return new int[][]{Arrays.copyOf(sources, j), Arrays.copyOf(targets, j)};
+    }
+
+    public void printSummary(PrintStream out) {
+        checkComputed();
+        out.printf("Project length: %d, critical vertices: %d, critical edges: %d\n",
+                projectLength, numCriticalVertices, numCriticalEdges);
+        out.println("Critical vertices: " + Arrays.toString(getCriticalVertices()));
+    }
+}
@@ -1,23 +1,42 @@
 package kz.edu.daa.graph.dagsp;
 
-import kz.edu.daa.graph.model.Edge;
-import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.metrics.Counter;
 import kz.edu.daa.graph.metrics.Metrics;
-import kz.edu.daa.graph.topo.KahnAlgorithm;
+import kz.edu.daa.graph.topo.TopologicalOrder;
 
+import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class DAGLongestPath {
-    private final Graph graph;
+    private final AdjacencyGraph graph;
     private final Metrics metrics;
+    private final Counter edgeRelaxations;
+    private final Counter distanceUpdates;
     private final int source;
+    private final TopologicalOrder topoOrder;
     private final long[] distances;
     private final int[] predecessors;
 
-    public DAGLongestPath(Graph graph, int source, Metrics metrics) {
+    public DAGLongestPath(AdjacencyGraph graph, int source, Metrics metrics) {
+        this(graph, null, source, metrics);
+    }
+
+    /**
+     * Uses a precomputed order instead of sorting again; it must be a topological order of graph.
+     */
+    public DAGLongestPath(AdjacencyGraph graph, TopologicalOrder topoOrder, int source, Metrics metrics) {
+        if (topoOrder != null && topoOrder.size() != graph.getNumVertices()) {
+            throw new IllegalArgumentException("Topological order covers " + topoOrder.size()
+                    + " vertices, graph has " + graph.getNumVertices());
+        }
         this.graph = graph;
+        this.topoOrder = topoOrder;
         this.source = source;
         this.metrics = metrics;
+        this.edgeRelaxations = metrics.counter("Edge relaxations");
+        this.distanceUpdates = metrics.counter("Distance updates");
         this.distances = new long[graph.getNumVertices()];
         this.predecessors = new int[graph.getNumVertices()];
 
@@ -29,29 +48,25 @@ public class DAGLongestPath {
     public void computeLongestPaths() {
         long startTime = System.nanoTime();
 
-        // Get topological order
-        KahnAlgorithm topoSort = new KahnAlgorithm(graph, metrics);
-        List<Integer> topoOrder = topoSort.sort();
-
-        // If not a valid DAG, return
-        if (!topoSort.isValidDAG()) {
-            System.err.println("ERROR: Graph is not a DAG!");
-            return;
-        }
+        // Get topological order; sorting fails fast with the offending cycle
+        TopologicalOrder order = topoOrder != null ? topoOrder : TopologicalOrder.of(graph, metrics);
 
-        // Relax edges in topological order (maximize distance)
-        for (int u : topoOrder) {
+        // Relax edges in topological order (maximize distance), starting at the source:
+        // vertices ordered before it cannot be reached
+        for (int k = order.positionOf(source); k < order.size(); k++) {
+            int u = order.vertexAt(k);
             if (distances[u] != Long.MIN_VALUE) {
-                for (Edge edge : graph.getEdges(u)) {
-                    int v = edge.getTo();
-                    long newDist = distances[u] + edge.getWeight();
+                int degree = graph.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    int v = graph.getEdgeTarget(u, i);
+                    long newDist = distances[u] + graph.getEdgeWeight(u, i);
 
-                    metrics.incrementOperations("Edge relaxations");
+                    edgeRelaxations.increment();
 
                     if (newDist > distances[v]) {
                         distances[v] = newDist;
                         predecessors[v] = u;
-                        metrics.incrementOperations("Distance updates");
+                        distanceUpdates.increment();
                     }
                 }
             }
@@ -61,6 +76,38 @@ public class DAGLongestPath {
         metrics.addTime("DAG Longest Path", endTime - startTime);
     }
 
+    /**
+     * Parallel mode: relaxes one topological level at a time on the pool (see
+     * WavefrontRelaxation). Distances and predecessors are identical to computeLongestPaths().
+     */
+    public void computeLongestPaths(ForkJoinPool pool) {
+        TopologicalOrder order = topoOrder != null ? topoOrder : TopologicalOrder.of(graph, metrics);
+        computeLongestPaths(new WavefrontRelaxation(graph, order, pool));
+    }
+
+    /**
+     * Parallel mode over a prepared wavefront, which can be shared by many sources;
+     * it must have been built for this graph. "Distance updates" counts the reached
+     * vertices, since each is finalized in one write.
+     */
+    public void computeLongestPaths(WavefrontRelaxation wavefront) {
+        if (wavefront.getGraph() != graph) {
+            throw new IllegalArgumentException("Wavefront was prepared for a different graph");
+        }
+        long startTime = System.nanoTime();
+        edgeRelaxations.add(wavefront.relax(source, PathMode.LONGEST, distances, predecessors));
+        metrics.addTime("DAG Longest Path", System.nanoTime() - startTime);
+
+        // Each reached vertex is written once, with its final distance
+        long updated = 0;
+        for (int v = 0; v < distances.length; v++) {
+            if (v != source && distances[v] != Long.MIN_VALUE) {
+                updated++;
+            }
+        }
+        distanceUpdates.add(updated);
+    }
+
     public long getDistance(int vertex) {
         return distances[vertex];
     }
@@ -90,14 +137,18 @@ public class DAGLongestPath {
     }
 
     public void printPaths() {
-        System.out.println("\n=== Longest Paths from vertex " + source + " ===");
+        printPaths(System.out);
+    }
+
+    public void printPaths(PrintStream out) {
+        out.println("\n=== Longest Paths from vertex " + source + " ===");
         for (int v = 0; v < graph.getNumVertices(); v++) {
             if (distances[v] == Long.MIN_VALUE) {
-                System.out.printf("Vertex %d: UNREACHABLE\n", v);
+                out.printf("Vertex %d: UNREACHABLE\n", v);
             } else {
-                System.out.printf("Vertex %d: distance=%d, path=%s\n", v, distances[v], getPath(v));
+                out.printf("Vertex %d: distance=%d, path=%s\n", v, distances[v], getPath(v));
             }
         }
-        System.out.printf("\nCritical Path Length: %d\n", getCriticalPathLength());
+        out.printf("\nCritical Path Length: %d\n", getCriticalPathLength());
     }
 }
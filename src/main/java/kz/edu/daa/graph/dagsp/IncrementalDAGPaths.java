@@ -0,0 +1,245 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.Counter;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.topo.DynamicTopologicalOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-source shortest or longest paths on a DAG, repaired in place after weight
+ * changes and edge insertions instead of being recomputed.
+ *
+ * An update can only change the distance of the edge's target and what lies downstream
+ * of it. Those vertices are re-evaluated from their in-edges in topological order, using
+ * a heap keyed by position, and a vertex's children are queued only if its distance
+ * actually changed, so the work is proportional to the affected region. Insertions keep
+ * the order valid through DynamicTopologicalOrder and reject edges that close a cycle.
+ *
+ * Among equally good predecessors the smallest vertex id wins. Unlike "first in
+ * topological order" this does not depend on how the order is repaired, so the result
+ * always equals a full recomputation over the current edges.
+ */
+public class IncrementalDAGPaths {
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private final DynamicTopologicalOrder dag;
+    private final int source;
+    private final PathMode mode;
+    private final long sign; // longest paths run as shortest paths over negated weights
+    private final Metrics metrics;
+    private final Counter repairs;
+    private final Counter verticesReevaluated;
+    private final Counter verticesChanged;
+
+    private final long[] distances; // sign * path length, UNREACHED if not reachable
+    private final int[] predecessors;
+
+    // Repair heap of vertices keyed by topological position
+    private final boolean[] queued;
+    private int[] heap = new int[16];
+    private int heapSize;
+
+    public IncrementalDAGPaths(AdjacencyGraph dag, int source, PathMode mode, Metrics metrics) {
+        this(new DynamicTopologicalOrder(dag, metrics), source, mode, metrics);
+    }
+
+    /**
+     * Works on the given order's edges; later insertions must go through addEdge here.
+     */
+    public IncrementalDAGPaths(DynamicTopologicalOrder dag, int source, PathMode mode, Metrics metrics) {
+        if (source < 0 || source >= dag.getNumVertices()) {
+            throw new IllegalArgumentException("Invalid vertex: " + source);
+        }
+        int n = dag.getNumVertices();
+        this.dag = dag;
+        this.source = source;
+        this.mode = mode;
+        this.sign = mode == PathMode.SHORTEST ? 1 : -1;
+        this.metrics = metrics;
+        this.repairs = metrics.counter("Path repairs");
+        this.verticesReevaluated = metrics.counter("Vertices re-evaluated");
+        this.verticesChanged = metrics.counter("Vertices changed");
+        this.distances = new long[n];
+        this.predecessors = new int[n];
+        this.queued = new boolean[n];
+        computeAll();
+    }
+
+    // Full sweep over the order, used once at construction
+    private void computeAll() {
+        long startTime = System.nanoTime();
+        Arrays.fill(distances, UNREACHED);
+        Arrays.fill(predecessors, -1);
+        distances[source] = 0;
+        for (int k = dag.positionOf(source); k < dag.getNumVertices(); k++) {
+            int u = dag.vertexAt(k);
+            if (distances[u] == UNREACHED) {
+                continue;
+            }
+            int degree = dag.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = dag.getEdgeTarget(u, i);
+                long newDist = distances[u] + sign * dag.getEdgeWeight(u, i);
+                if (newDist < distances[v] || newDist == distances[v] && u < predecessors[v]) {
+                    distances[v] = newDist;
+                    predecessors[v] = u;
+                }
+            }
+        }
+        metrics.addTime("Incremental DAG paths", System.nanoTime() - startTime);
+    }
+
+    /**
+     * Sets the weight of out-edge index of u (as addressed by AdjacencyGraph) and repairs
+     * the paths. Returns the vertices whose distance or predecessor changed, in topological order.
+     */
+    public int[] updateWeight(int u, int index, int weight) {
+        dag.setEdgeWeight(u, index, weight);
+        return repair(dag.getEdgeTarget(u, index));
+    }
+
+    /**
+     * Inserts u -> v and repairs the paths; returns the changed vertices in topological order.
+     * Throws IllegalArgumentException, changing nothing, if the edge would close a cycle.
+     */
+    public int[] addEdge(int u, int v, int weight) {
+        dag.addEdge(u, v, weight);
+        return repair(v);
+    }
+
+    private int[] repair(int start) {
+        long startTime = System.nanoTime();
+        List<Integer> changed = new ArrayList<>();
+        push(start);
+        while (heapSize > 0) {
+            int v = pop();
+            queued[v] = false;
+            verticesReevaluated.increment();
+
+            long best = UNREACHED;
+            int bestPred = -1;
+            if (v == source) {
+                best = 0;
+            } else {
+                int degree = dag.getInDegree(v);
+                for (int j = 0; j < degree; j++) {
+                    int u = dag.getInEdgeSource(v, j);
+                    if (distances[u] == UNREACHED) {
+                        continue;
+                    }
+                    long candidate = distances[u] + sign * dag.getInEdgeWeight(v, j);
+                    if (candidate < best || candidate == best && u < bestPred) {
+                        best = candidate;
+                        bestPred = u;
+                    }
+                }
+            }
+
+            if (best == distances[v] && bestPred == predecessors[v]) {
+                continue;
+            }
+            changed.add(v);
+            predecessors[v] = bestPred;
+            if (best != distances[v]) {
+                // Only a new distance can affect the children; a new tie-break cannot
+                distances[v] = best;
+                int degree = dag.getOutDegree(v);
+                for (int i = 0; i < degree; i++) {
+                    push(dag.getEdgeTarget(v, i));
+                }
+            }
+        }
+
+        repairs.increment();
+        verticesChanged.add(changed.size());
+        metrics.addTime("Incremental DAG paths", System.nanoTime() - startTime);
+        int[] result = new int[changed.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = changed.get(i);
+        }
+        return result;
+    }
+
+    private void push(int vertex) {
+        if (queued[vertex]) {
+            return;
+        }
+        queued[vertex] = true;
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        int i = heapSize++;
+        int key = dag.positionOf(vertex);
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (dag.positionOf(heap[parent]) <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = vertex;
+    }
+
+    private int pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int key = dag.positionOf(last);
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && dag.positionOf(heap[child + 1]) < dag.positionOf(heap[child])) {
+                child++;
+            }
+            if (dag.positionOf(heap[child]) >= key) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    /** Distance from the source, or the mode's unreachable sentinel. */
+    public long getDistance(int vertex) {
+        return distances[vertex] == UNREACHED ? mode.unreachable() : sign * distances[vertex];
+    }
+
+    public int getPredecessor(int vertex) {
+        return predecessors[vertex];
+    }
+
+    public List<Integer> getPath(int vertex) {
+        List<Integer> path = new ArrayList<>();
+        if (distances[vertex] == UNREACHED) {
+            return path; // No path exists
+        }
+        for (int current = vertex; current != -1; current = predecessors[current]) {
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public PathMode getMode() {
+        return mode;
+    }
+
+    /** The current DAG, including inserted edges and updated weights. */
+    public DynamicTopologicalOrder getGraph() {
+        return dag;
+    }
+}
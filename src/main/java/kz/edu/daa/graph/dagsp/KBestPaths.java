@@ -0,0 +1,389 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.Counter;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The K shortest or K longest paths from one source to every vertex of a DAG.
+ *
+ * Vertices are finalized in topological order. Each keeps up to K candidate paths, best
+ * first, and a candidate is only a length plus a link to the candidate of the predecessor
+ * it extends. A vertex's list is the K best of its in-neighbours' lists shifted by the edge
+ * weights, taken with a K-way merge over the in-edges, so a vertex costs
+ * O((in-degree + K) log in-degree). The merge stops at K, so every list is bounded.
+ *
+ * All candidates live in two flat arrays (a length and a parent slot), and a vertex's
+ * slots are contiguous and sized before the sweep. That is at most K entries per reachable
+ * vertex, and fewer near the source where fewer paths exist. Paths are not stored: getPath
+ * follows the parent links, finding the owner of each slot by binary search.
+ *
+ * Paths are edge sequences, except that parallel edges of equal weight count once. Ties
+ * in length go to the candidate whose parent slot comes first.
+ */
+public class KBestPaths {
+    private final CSRGraph reverse;
+    private final AdjacencyGraph graph;
+    private final TopologicalOrder order;
+    private final int source;
+    private final int k;
+    private final PathMode mode;
+    private final long sign; // longest paths are the shortest over negated weights
+    private final Metrics metrics;
+    private final Counter candidatesMerged;
+
+    private final int[] firstSlot; // position p owns slots firstSlot[p] .. firstSlot[p + 1]
+    private final int[] count;     // candidates actually found, by position
+    private final long[] lengths;  // sign * path length, best first within a vertex
+    private final int[] parents;   // slot of the extended candidate, -1 at the source
+
+    // K-way merge heap over in-edges: current key, its slot and the end of that list
+    private final long[] heapKey;
+    private final long[] heapDelta;
+    private final int[] heapSlot;
+    private final int[] heapEnd;
+    private boolean computed;
+
+    public KBestPaths(AdjacencyGraph graph, int source, int k, PathMode mode, Metrics metrics) {
+        this(graph, null, source, k, mode, metrics);
+    }
+
+    /**
+     * Uses a precomputed order instead of sorting again; it must be a topological order of graph.
+     * Throws IllegalArgumentException if K candidates per reachable vertex do not fit in an array.
+     */
+    public KBestPaths(AdjacencyGraph graph, TopologicalOrder order, int source, int k,
+                      PathMode mode, Metrics metrics) {
+        int n = graph.getNumVertices();
+        if (order != null && order.size() != n) {
+            throw new IllegalArgumentException("Topological order covers " + order.size()
+                    + " vertices, graph has " + n);
+        }
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Invalid vertex: " + source);
+        }
+        if (k < 1) {
+            throw new IllegalArgumentException("K must be positive: " + k);
+        }
+        this.graph = graph;
+        this.reverse = CSRGraph.fromGraph(graph).transpose();
+        this.order = order != null ? order : TopologicalOrder.of(graph, metrics);
+        this.source = source;
+        this.k = k;
+        this.mode = mode;
+        this.sign = mode == PathMode.SHORTEST ? 1 : -1;
+        this.metrics = metrics;
+        this.candidatesMerged = metrics.counter("K-best candidates merged");
+
+        // Size every list before the sweep: a vertex has at most min(K, sum of its
+        // in-neighbours' bounds) paths, counted in ints so no list ever grows
+        int[] bound = new int[n];
+        this.firstSlot = new int[n + 1];
+        int sourcePosition = this.order.positionOf(source);
+        long total = 0;
+        int maxDegree = 0;
+        for (int p = 0; p < n; p++) {
+            int v = this.order.vertexAt(p);
+            firstSlot[p] = (int) total;
+            if (p < sourcePosition) {
+                continue;
+            }
+            long paths = p == sourcePosition ? 1 : 0;
+            int degree = reverse.getOutDegree(v);
+            maxDegree = Math.max(maxDegree, degree);
+            for (int i = 0; i < degree && paths < k && p != sourcePosition; i++) {
+                paths += bound[reverse.getEdgeTarget(v, i)];
+            }
+            bound[v] = (int) Math.min(k, paths);
+            total += bound[v];
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("K = " + k + " needs more than "
+                        + Integer.MAX_VALUE + " candidates on " + n + " vertices");
+            }
+        }
+        firstSlot[n] = (int) total;
+        this.count = new int[n];
+        this.lengths = new long[(int) total];
+        this.parents = new int[(int) total];
+        this.heapKey = new long[maxDegree];
+        this.heapDelta = new long[maxDegree];
+        this.heapSlot = new int[maxDegree];
+        this.heapEnd = new int[maxDegree];
+    }
+
+    public void compute() {
+        long startTime = System.nanoTime();
+        int n = graph.getNumVertices();
+        int sourcePosition = order.positionOf(source);
+        Arrays.fill(count, 0);
+        lengths[firstSlot[sourcePosition]] = 0;
+        parents[firstSlot[sourcePosition]] = -1;
+        count[sourcePosition] = 1;
+
+        long merged = 0;
+        for (int p = sourcePosition + 1; p < n; p++) {
+            int capacity = firstSlot[p + 1] - firstSlot[p];
+            if (capacity == 0) {
+                continue; // unreachable
+            }
+            int v = order.vertexAt(p);
+
+            // One heap entry per in-neighbour with paths, at the head of its list
+            int size = 0;
+            int degree = reverse.getOutDegree(v);
+            for (int i = 0; i < degree; i++) {
+                int up = order.positionOf(reverse.getEdgeTarget(v, i));
+                if (count[up] == 0) {
+                    continue;
+                }
+                long delta = sign * reverse.getEdgeWeight(v, i);
+                int slot = firstSlot[up];
+                heapDelta[size] = delta;
+                heapSlot[size] = slot;
+                heapEnd[size] = slot + count[up];
+                heapKey[size] = lengths[slot] + delta;
+                siftUp(size++);
+            }
+
+            // Pop the best K, skipping a repeat of the same parent at the same length
+            int out = firstSlot[p];
+            int end = out + capacity;
+            while (size > 0 && out < end) {
+                long key = heapKey[0];
+                int slot = heapSlot[0];
+                merged++;
+                if (out == firstSlot[p] || lengths[out - 1] != key || parents[out - 1] != slot) {
+                    lengths[out] = key;
+                    parents[out++] = slot;
+                }
+                if (++heapSlot[0] < heapEnd[0]) {
+                    heapKey[0] = lengths[heapSlot[0]] + heapDelta[0];
+                } else {
+                    size--;
+                    heapKey[0] = heapKey[size];
+                    heapDelta[0] = heapDelta[size];
+                    heapSlot[0] = heapSlot[size];
+                    heapEnd[0] = heapEnd[size];
+                }
+                siftDown(0, size);
+            }
+            count[p] = out - firstSlot[p];
+        }
+        computed = true;
+
+        candidatesMerged.add(merged);
+        metrics.addTime("K-best paths", System.nanoTime() - startTime);
+    }
+
+    private boolean less(int a, int b) {
+        return heapKey[a] < heapKey[b] || heapKey[a] == heapKey[b] && heapSlot[a] < heapSlot[b];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(i, parent)) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int size) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(child + 1, child)) {
+                child++;
+            }
+            if (!less(child, i)) {
+                break;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = heapKey[a];
+        heapKey[a] = heapKey[b];
+        heapKey[b] = key;
+        long delta = heapDelta[a];
+        heapDelta[a] = heapDelta[b];
+        heapDelta[b] = delta;
+        int slot = heapSlot[a];
+        heapSlot[a] = heapSlot[b];
+        heapSlot[b] = slot;
+        int end = heapEnd[a];
+        heapEnd[a] = heapEnd[b];
+        heapEnd[b] = end;
+    }
+
+    private void checkComputed() {
+        if (!computed) {
+            throw new IllegalStateException("compute() has not been called");
+        }
+    }
+
+    // Position whose slot range contains slot: the last p with firstSlot[p] <= slot
+    private int positionOfSlot(int slot) {
+        int low = 0;
+        int high = firstSlot.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstSlot[mid] <= slot) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int slotOf(int vertex, int rank) {
+        int p = order.positionOf(vertex);
+        if (rank < 0 || rank >= count[p]) {
+            throw new IllegalArgumentException("Vertex " + vertex + " has " + count[p]
+                    + " paths, no rank " + rank);
+        }
+        return firstSlot[p] + rank;
+    }
+
+    /** Number of paths found to the vertex: K, or all of them if there are fewer. */
+    public int getNumPaths(int vertex) {
+        checkComputed();
+        return count[order.positionOf(vertex)];
+    }
+
+    /** Length of the rank-th best path to the vertex, rank 0 being the best. */
+    public long getLength(int vertex, int rank) {
+        checkComputed();
+        return sign * lengths[slotOf(vertex, rank)];
+    }
+
+    /** Lengths of all paths found to the vertex, best first. */
+    public long[] getLengths(int vertex) {
+        checkComputed();
+        int p = order.positionOf(vertex);
+        long[] result = new long[count[p]];
+        for (int j = 0; j < result.length; j++) {
+            result[j] = sign * lengths[firstSlot[p] + j];
+        }
+        return result;
+    }
+
+    /** The rank-th best path to the vertex, rebuilt from the parent links. */
+    public List<Integer> getPath(int vertex, int rank) {
+        checkComputed();
+        List<Integer> path = new ArrayList<>();
+        path.add(vertex);
+        for (int slot = parents[slotOf(vertex, rank)]; slot != -1; slot = parents[slot]) {
+            path.add(order.vertexAt(positionOfSlot(slot)));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * The K best complete paths over all sinks (vertices without out-edges) reachable from
+     * the source, best first. These are the candidate critical chains when mode is LONGEST.
+     */
+    public List<RankedPath> getTopPaths() {
+        checkComputed();
+        Comparator<RankedPath> betterFirst = Comparator.<RankedPath>comparingLong(path -> sign * path.length)
+                .thenComparingInt(path -> path.target)
+                .thenComparingInt(path -> path.rank);
+        // Bounded selection with the worst kept path on top; each list is sorted, so a
+        // list is abandoned at its first candidate that cannot get in
+        PriorityQueue<RankedPath> kept = new PriorityQueue<>(k, betterFirst.reversed());
+        for (int p = order.positionOf(source); p < order.size(); p++) {
+            int v = order.vertexAt(p);
+            if (graph.getOutDegree(v) != 0) {
+                continue;
+            }
+            for (int j = 0; j < count[p]; j++) {
+                RankedPath candidate = new RankedPath(v, j, sign * lengths[firstSlot[p] + j]);
+                if (kept.size() < k) {
+                    kept.add(candidate);
+                } else if (betterFirst.compare(candidate, kept.peek()) < 0) {
+                    kept.poll();
+                    kept.add(candidate);
+                } else {
+                    break;
+                }
+            }
+        }
+        List<RankedPath> result = new ArrayList<>(kept);
+        result.sort(betterFirst);
+        return result;
+    }
+
+    /** Slots reserved for candidates; memory is 12 bytes per slot. */
+    public long getNumSlots() {
+        return firstSlot[firstSlot.length - 1];
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public PathMode getMode() {
+        return mode;
+    }
+
+    public void printTopPaths(PrintStream out) {
+        List<RankedPath> top = getTopPaths();
+        out.printf("Top %d %s paths from vertex %d:\n", top.size(),
+                mode == PathMode.SHORTEST ? "shortest" : "longest", source);
+        for (int i = 0; i < top.size(); i++) {
+            RankedPath path = top.get(i);
+            out.printf("  #%d length=%d, path=%s\n", i + 1, path.getLength(),
+                    getPath(path.getTarget(), path.getRank()));
+        }
+    }
+
+    /**
+     * Handle to one path: the rank-th best path to target. Pass it to getPath to get the vertices.
+     */
+    public static final class RankedPath {
+        private final int target;
+        private final int rank;
+        private final long length;
+
+        RankedPath(int target, int rank, long length) {
+            this.target = target;
+            this.rank = rank;
+            this.length = length;
+        }
+
+        public int getTarget() {
+            return target;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return "RankedPath{target=" + target + ", rank=" + rank + ", length=" + length + "}";
+        }
+    }
+}
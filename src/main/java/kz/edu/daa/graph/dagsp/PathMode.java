@@ -0,0 +1,20 @@
+package kz.edu.daa.graph.dagsp;
+
+/**
+ * Objective of a DAG path computation.
+ */
+public enum PathMode {
+    SHORTEST(Long.MAX_VALUE),
+    LONGEST(Long.MIN_VALUE);
+
+    private final long unreachable;
+
+    PathMode(long unreachable) {
+        this.unreachable = unreachable;
+    }
+
+    /** Distance sentinel for vertices not reachable from the source. */
+    public long unreachable() {
+        return unreachable;
+    }
+}
@@ -0,0 +1,56 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.topo.TopologicalOrder;
+
+import java.util.Arrays;
+
+/**
+ * Compact distances from one source: only reachable vertices are stored, keyed by their
+ * position in the shared topological order (ascending), so lookups are a binary search.
+ */
+public final class SourceDistances {
+    private final int source;
+    private final PathMode mode;
+    private final TopologicalOrder order;
+    private final int[] positions;
+    private final long[] distances;
+
+    SourceDistances(int source, PathMode mode, TopologicalOrder order, int[] positions, long[] distances) {
+        this.source = source;
+        this.mode = mode;
+        this.order = order;
+        this.positions = positions;
+        this.distances = distances;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getNumReachable() {
+        return positions.length;
+    }
+
+    public boolean isReachable(int vertex) {
+        return Arrays.binarySearch(positions, order.positionOf(vertex)) >= 0;
+    }
+
+    /**
+     * Distance to vertex, or the mode's unreachable sentinel (as in DAGShortestPath/DAGLongestPath).
+     */
+    public long getDistance(int vertex) {
+        int i = Arrays.binarySearch(positions, order.positionOf(vertex));
+        return i >= 0 ? distances[i] : mode.unreachable();
+    }
+
+    /**
+     * Reachable vertices in topological order.
+     */
+    public int[] getReachableVertices() {
+        int[] vertices = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            vertices[i] = order.vertexAt(positions[i]);
+        }
+        return vertices;
+    }
+}
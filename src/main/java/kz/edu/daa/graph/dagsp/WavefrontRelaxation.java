@@ -0,0 +1,146 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.topo.ParallelKahn;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Level-parallel (wavefront) shortest or longest path relaxation over a prepared DAG.
+ *
+ * ParallelKahn groups the vertices by level; every in-neighbour of a vertex sits on an
+ * earlier level, so all vertices of one level can be finalized at once. Each vertex
+ * pulls from its in-edges in the transposed CSR graph and writes only its own distance
+ * and predecessor, so no atomics are needed and levels are separated by a join. Narrow
+ * levels run on the calling thread.
+ *
+ * Distances equal the sequential relaxation's. Among equally good in-neighbours the one
+ * earliest in the tie order wins, which is exactly the predecessor a sequential sweep
+ * over that order keeps; pass the order DAGShortestPath/DAGLongestPath use to get
+ * identical predecessors too. The preparation is reusable for any number of sources.
+ */
+public class WavefrontRelaxation {
+    private static final int PARALLEL_THRESHOLD = 1 << 11;
+    private static final int CHUNK_SIZE = 1 << 10;
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private final AdjacencyGraph graph;
+    private final CSRGraph reverse;
+    private final ForkJoinPool pool;
+    private final int[] levelVertices; // vertices grouped by level
+    private final int[] levelStart;    // level L occupies levelVertices[levelStart[L] .. levelStart[L + 1])
+    private final int[] levelOf;
+    private final int[] tiePosition;
+
+    public WavefrontRelaxation(AdjacencyGraph graph, ForkJoinPool pool) {
+        this(graph, null, pool);
+    }
+
+    /**
+     * Throws IllegalArgumentException if the graph has a cycle. A null tie order uses
+     * ParallelKahn's order (level, then vertex id).
+     */
+    public WavefrontRelaxation(AdjacencyGraph graph, TopologicalOrder tieOrder, ForkJoinPool pool) {
+        int n = graph.getNumVertices();
+        if (tieOrder != null && tieOrder.size() != n) {
+            throw new IllegalArgumentException("Topological order covers " + tieOrder.size()
+                    + " vertices, graph has " + n);
+        }
+        ParallelKahn kahn = new ParallelKahn(graph, NoOpMetrics.INSTANCE, pool);
+        this.levelVertices = kahn.sort();
+        if (!kahn.isValidDAG()) {
+            throw new IllegalArgumentException("Graph is not a DAG");
+        }
+        this.graph = graph;
+        this.pool = pool;
+        this.reverse = CSRGraph.fromGraph(graph).transpose();
+        this.levelOf = kahn.getLevels();
+        this.levelStart = new int[kahn.getNumLevels() + 1];
+        for (int v = 0; v < n; v++) {
+            levelStart[levelOf[v] + 1]++;
+        }
+        for (int level = 0; level < kahn.getNumLevels(); level++) {
+            levelStart[level + 1] += levelStart[level];
+        }
+        this.tiePosition = new int[n];
+        for (int i = 0; i < n; i++) {
+            tiePosition[tieOrder != null ? tieOrder.vertexAt(i) : levelVertices[i]] = i;
+        }
+    }
+
+    /**
+     * Fills distances (the mode's unreachable sentinel where there is no path) and
+     * predecessors (-1 for the source and unreachable vertices) for one source.
+     * Returns the number of in-edges examined.
+     */
+    public long relax(int source, PathMode mode, long[] distances, int[] predecessors) {
+        int n = graph.getNumVertices();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Invalid vertex: " + source);
+        }
+        long sign = mode == PathMode.SHORTEST ? 1 : -1; // longest paths minimize negated lengths
+        Arrays.fill(distances, UNREACHED);
+        Arrays.fill(predecessors, -1);
+        distances[source] = 0;
+
+        // Nothing on the source's level or before it is reachable
+        long examined = 0;
+        for (int level = levelOf[source] + 1; level + 1 < levelStart.length; level++) {
+            int from = levelStart[level];
+            int to = levelStart[level + 1];
+            if (to - from < PARALLEL_THRESHOLD) {
+                examined += pull(from, to, sign, distances, predecessors);
+            } else {
+                int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                examined += pool.submit(() -> IntStream.range(0, chunks).parallel()
+                        .mapToLong(c -> pull(from + c * CHUNK_SIZE, Math.min(to, from + (c + 1) * CHUNK_SIZE),
+                                sign, distances, predecessors))
+                        .sum()).join();
+            }
+        }
+
+        for (int v = 0; v < n; v++) {
+            distances[v] = distances[v] == UNREACHED ? mode.unreachable() : sign * distances[v];
+        }
+        return examined;
+    }
+
+    private long pull(int from, int to, long sign, long[] distances, int[] predecessors) {
+        long examined = 0;
+        for (int k = from; k < to; k++) {
+            int v = levelVertices[k];
+            long best = UNREACHED;
+            int bestPred = -1;
+            int degree = reverse.getOutDegree(v);
+            for (int i = 0; i < degree; i++) {
+                int u = reverse.getEdgeTarget(v, i);
+                long du = distances[u];
+                if (du == UNREACHED) {
+                    continue;
+                }
+                long candidate = du + sign * reverse.getEdgeWeight(v, i);
+                if (candidate < best || candidate == best && tiePosition[u] < tiePosition[bestPred]) {
+                    best = candidate;
+                    bestPred = u;
+                }
+            }
+            distances[v] = best;
+            predecessors[v] = bestPred;
+            examined += degree;
+        }
+        return examined;
+    }
+
+    public AdjacencyGraph getGraph() {
+        return graph;
+    }
+
+    public int getNumLevels() {
+        return levelStart.length - 1;
+    }
+}
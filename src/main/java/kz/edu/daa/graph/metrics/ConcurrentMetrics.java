@@ -0,0 +1,82 @@
+package kz.edu.daa.graph.metrics;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe metrics backed by striped LongAdder cells. Counter handles point straight at
+ * their adder, so an increment is a single uncontended add even when several algorithm
+ * runs share the instance.
+ */
+public class ConcurrentMetrics implements Metrics {
+    private final Map<String, LongAdder> operationCounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> timeMeasurements = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String operation) {
+        LongAdder adder = adder(operationCounts, operation);
+        return adder::add;
+    }
+
+    @Override
+    public void incrementOperations(String operation) {
+        adder(operationCounts, operation).increment();
+    }
+
+    @Override
+    public void addOperations(String operation, long delta) {
+        adder(operationCounts, operation).add(delta);
+    }
+
+    @Override
+    public void addTime(String phase, long nanoTime) {
+        adder(timeMeasurements, phase).add(nanoTime);
+    }
+
+    @Override
+    public long getOperationCount(String operation) {
+        LongAdder adder = operationCounts.get(operation);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    public long getTimeNano(String phase) {
+        LongAdder adder = timeMeasurements.get(phase);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    public double getTimeMs(String phase) {
+        return getTimeNano(phase) / 1_000_000.0;
+    }
+
+    /**
+     * Zeroes all values; counter handles obtained earlier stay attached.
+     */
+    @Override
+    public void reset() {
+        operationCounts.values().forEach(LongAdder::reset);
+        timeMeasurements.values().forEach(LongAdder::reset);
+    }
+
+    @Override
+    public void printSummary(PrintStream out) {
+        out.println("\n=== Metrics Summary ===");
+        out.println("Operations:");
+        new TreeMap<>(operationCounts).forEach((op, count) ->
+                out.printf("  %s: %d\n", op, count.sum())
+        );
+        out.println("Time measurements:");
+        new TreeMap<>(timeMeasurements).forEach((phase, nanoTime) ->
+                out.printf("  %s: %.4f ms\n", phase, nanoTime.sum() / 1_000_000.0)
+        );
+    }
+
+    private static LongAdder adder(Map<String, LongAdder> map, String name) {
+        LongAdder adder = map.get(name);
+        return adder != null ? adder : map.computeIfAbsent(name, key -> new LongAdder());
+    }
+}
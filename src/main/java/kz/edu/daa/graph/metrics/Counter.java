@@ -0,0 +1,14 @@
+package kz.edu.daa.graph.metrics;
+
+/**
+ * Handle to one operation counter, resolved once via {@link Metrics#counter(String)}
+ * so hot loops do not look the counter up by name on every event.
+ */
+@FunctionalInterface
+public interface Counter {
+    void add(long delta);
+
+    default void increment() {
+        add(1);
+    }
+}
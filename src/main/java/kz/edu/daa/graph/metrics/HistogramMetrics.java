@@ -0,0 +1,68 @@
+package kz.edu.daa.graph.metrics;
+
+import java.io.PrintStream;
+
+/**
+ * Decorator that also records every addTime call as one sample in a per-phase histogram,
+ * so many runs sharing one PhaseHistograms yield latency distributions, not just sums.
+ */
+public class HistogramMetrics implements Metrics {
+    private final Metrics delegate;
+    private final PhaseHistograms histograms;
+
+    public HistogramMetrics(Metrics delegate, PhaseHistograms histograms) {
+        this.delegate = delegate;
+        this.histograms = histograms;
+    }
+
+    public PhaseHistograms getHistograms() {
+        return histograms;
+    }
+
+    @Override
+    public Counter counter(String operation) {
+        return delegate.counter(operation);
+    }
+
+    @Override
+    public void incrementOperations(String operation) {
+        delegate.incrementOperations(operation);
+    }
+
+    @Override
+    public void addOperations(String operation, long delta) {
+        delegate.addOperations(operation, delta);
+    }
+
+    @Override
+    public void addTime(String phase, long nanoTime) {
+        delegate.addTime(phase, nanoTime);
+        histograms.record(phase, nanoTime);
+    }
+
+    @Override
+    public long getOperationCount(String operation) {
+        return delegate.getOperationCount(operation);
+    }
+
+    @Override
+    public long getTimeNano(String phase) {
+        return delegate.getTimeNano(phase);
+    }
+
+    @Override
+    public double getTimeMs(String phase) {
+        return delegate.getTimeMs(phase);
+    }
+
+    @Override
+    public void reset() {
+        delegate.reset();
+    }
+
+    @Override
+    public void printSummary(PrintStream out) {
+        delegate.printSummary(out);
+        histograms.printSummary(out);
+    }
+}
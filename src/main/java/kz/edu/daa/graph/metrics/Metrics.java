@@ -1,11 +1,27 @@
 package kz.edu.daa.graph.metrics;
 
+import java.io.PrintStream;
+
 public interface Metrics {
     void incrementOperations(String operation);
+
+    /** Adds delta in one step; counters pass whole batches (millions of edge scans) through here. */
+    void addOperations(String operation, long delta);
     void addTime(String phase, long nanoTime);
     long getOperationCount(String operation);
     long getTimeNano(String phase);
     double getTimeMs(String phase);
     void reset();
-    void printSummary();
+    void printSummary(PrintStream out);
+
+    default void printSummary() {
+        printSummary(System.out);
+    }
+
+    /**
+     * Resolves a counter once; algorithms call this in their constructor and increment the handle in loops.
+     */
+    default Counter counter(String operation) {
+        return delta -> addOperations(operation, delta);
+    }
 }
@@ -0,0 +1,47 @@
+package kz.edu.daa.graph.metrics;
+
+/**
+ * Chooses a Metrics implementation from a spec string, by default the
+ * {@value #PROPERTY} system property:
+ * <ul>
+ *   <li>{@code simple} (default) - SimpleMetrics, exact, single-threaded</li>
+ *   <li>{@code concurrent} - ConcurrentMetrics, exact, thread-safe</li>
+ *   <li>{@code sample:N} - SamplingMetrics recording one event in N</li>
+ *   <li>{@code timing} - SamplingMetrics with phase timings only</li>
+ *   <li>{@code off} or {@code noop} - NoOpMetrics</li>
+ * </ul>
+ */
+public final class MetricsFactory {
+    public static final String PROPERTY = "daa.metrics";
+
+    private MetricsFactory() {
+    }
+
+    public static Metrics create() {
+        return create(System.getProperty(PROPERTY, "simple"));
+    }
+
+    public static Metrics create(String spec) {
+        String mode = spec.trim().toLowerCase();
+        if (mode.startsWith("sample:")) {
+            try {
+                return SamplingMetrics.everyNth(Integer.parseInt(mode.substring("sample:".length())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sample rate in metrics spec: " + spec, e);
+            }
+        }
+        switch (mode) {
+            case "simple":
+                return new SimpleMetrics();
+            case "concurrent":
+                return new ConcurrentMetrics();
+            case "timing":
+                return SamplingMetrics.timingsOnly();
+            case "off":
+            case "noop":
+                return NoOpMetrics.INSTANCE;
+            default:
+                throw new IllegalArgumentException("Unknown metrics spec: " + spec);
+        }
+    }
+}
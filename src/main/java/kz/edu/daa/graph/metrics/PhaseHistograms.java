@@ -0,0 +1,57 @@
+package kz.edu.daa.graph.metrics;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One LatencyHistogram per phase name, thread-safe. Phases are listed in the order
+ * they were first recorded, so reports follow the pipeline order.
+ */
+public class PhaseHistograms {
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final List<String> phaseOrder = new CopyOnWriteArrayList<>();
+
+    public void record(String phase, long nanoTime) {
+        histogram(phase).record(nanoTime);
+    }
+
+    public LatencyHistogram histogram(String phase) {
+        LatencyHistogram histogram = histograms.get(phase);
+        if (histogram != null) {
+            return histogram;
+        }
+        return histograms.computeIfAbsent(phase, name -> {
+            phaseOrder.add(name);
+            return new LatencyHistogram();
+        });
+    }
+
+    public List<String> getPhases() {
+        return new ArrayList<>(phaseOrder);
+    }
+
+    public void merge(PhaseHistograms other) {
+        for (String phase : other.getPhases()) {
+            histogram(phase).merge(other.histograms.get(phase));
+        }
+    }
+
+    public void printSummary() {
+        printSummary(System.out);
+    }
+
+    public void printSummary(PrintStream out) {
+        out.println("\n=== Latency Percentiles (ms) ===");
+        out.printf("  %-24s %8s %10s %10s %10s %10s\n", "Phase", "Count", "p50", "p90", "p99", "Max");
+        for (String phase : phaseOrder) {
+            LatencyHistogram h = histograms.get(phase);
+            out.printf("  %-24s %8d %10.4f %10.4f %10.4f %10.4f\n", phase, h.getCount(),
+                    h.getValueAtPercentile(50) / 1_000_000.0, h.getValueAtPercentile(90) / 1_000_000.0,
+                    h.getValueAtPercentile(99) / 1_000_000.0, h.getMax() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package kz.edu.daa.graph.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Low-overhead metrics for production runs. Phase timings are always recorded exactly.
+ * Operation counters either record one event in N, adding N at a time so counts read as
+ * estimates accurate to within N per counter, or are switched off (timings only).
+ *
+ * The per-counter countdown is deliberately unsynchronized: under concurrent use a few
+ * events may be skipped or double-sampled, which only perturbs the estimate.
+ */
+public class SamplingMetrics extends ConcurrentMetrics {
+    private final int sampleRate;
+    private final Map<String, Counter> sampledCounters = new ConcurrentHashMap<>();
+
+    private SamplingMetrics(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Records every sampleRate-th event of each counter.
+     */
+    public static SamplingMetrics everyNth(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+        }
+        return new SamplingMetrics(sampleRate);
+    }
+
+    /**
+     * Records phase timings only; operation counters are no-ops.
+     */
+    public static SamplingMetrics timingsOnly() {
+        return new SamplingMetrics(0);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public Counter counter(String operation) {
+        if (sampleRate == 0) {
+            return NoOpMetrics.NO_OP_COUNTER;
+        }
+        if (sampleRate == 1) {
+            return super.counter(operation);
+        }
+        return sampledCounters.computeIfAbsent(operation,
+                name -> new SampledCounter(super.counter(name), sampleRate));
+    }
+
+    @Override
+    public void incrementOperations(String operation) {
+        counter(operation).increment();
+    }
+
+    @Override
+    public void addOperations(String operation, long delta) {
+        if (sampleRate != 0) {
+            super.addOperations(operation, delta);
+        }
+    }
+
+    private static final class SampledCounter implements Counter {
+        private final Counter target;
+        private final int sampleRate;
+        private int countdown;
+
+        SampledCounter(Counter target, int sampleRate) {
+            this.target = target;
+            this.sampleRate = sampleRate;
+            this.countdown = sampleRate;
+        }
+
+        @Override
+        public void increment() {
+            if (--countdown <= 0) {
+                countdown = sampleRate;
+                target.add(sampleRate);
+            }
+        }
+
+        @Override
+        public void add(long delta) {
+            target.add(delta); // bulk adds are rare and cheap, record them exactly
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package kz.edu.daa.graph.metrics;
 
+import java.io.PrintStream;
 import java.util.*;
 
 public class SimpleMetrics implements Metrics {
@@ -11,6 +12,11 @@ public class SimpleMetrics implements Metrics {
         operationCounts.put(operation, operationCounts.getOrDefault(operation, 0L) + 1);
     }
 
+    @Override
+    public void addOperations(String operation, long delta) {
+        operationCounts.merge(operation, delta, Long::sum);
+    }
+
     @Override
     public void addTime(String phase, long nanoTime) {
         timeMeasurements.put(phase, timeMeasurements.getOrDefault(phase, 0L) + nanoTime);
@@ -38,15 +44,15 @@ public class SimpleMetrics implements Metrics {
     }
 
     @Override
-    public void printSummary() {
-        System.out.println("\n=== Metrics Summary ===");
-        System.out.println("Operations:");
+    public void printSummary(PrintStream out) {
+        out.println("\n=== Metrics Summary ===");
+        out.println("Operations:");
         operationCounts.forEach((op, count) ->
-                System.out.printf("  %s: %d\n", op, count)
+                out.printf("  %s: %d\n", op, count)
         );
-        System.out.println("Time measurements:");
+        out.println("Time measurements:");
         timeMeasurements.forEach((phase, nanoTime) ->
-                System.out.printf("  %s: %.4f ms\n", phase, nanoTime / 1_000_000.0)
+                out.printf("  %s: %.4f ms\n", phase, nanoTime / 1_000_000.0)
         );
     }
 }
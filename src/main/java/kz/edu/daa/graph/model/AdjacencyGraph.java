@@ -0,0 +1,27 @@
+package kz.edu.daa.graph.model;
+
+/**
+ * Read-only view of a directed adjacency structure.
+ * Out-edges of a vertex are addressed by index in [0, getOutDegree(vertex)),
+ * so algorithms can walk them without allocating Edge objects or list copies.
+ */
+public interface AdjacencyGraph {
+    int getNumVertices();
+
+    int getNumEdges();
+
+    boolean isDirected();
+
+    int getOutDegree(int vertex);
+
+    int getEdgeTarget(int vertex, int index);
+
+    int getEdgeWeight(int vertex, int index);
+
+    default void forEachEdge(int vertex, EdgeVisitor visitor) {
+        int degree = getOutDegree(vertex);
+        for (int i = 0; i < degree; i++) {
+            visitor.visit(getEdgeTarget(vertex, i), getEdgeWeight(vertex, i));
+        }
+    }
+}
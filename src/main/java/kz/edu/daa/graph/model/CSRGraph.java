@@ -0,0 +1,188 @@
+package kz.edu.daa.graph.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed sparse row (CSR) graph.
+ * Out-edges of vertex v occupy positions offsets[v] .. offsets[v + 1] - 1
+ * of the targets and weights arrays, in the order they were added.
+ */
+public final class CSRGraph implements AdjacencyGraph {
+    private final int numVertices;
+    private final boolean isDirected;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private CSRGraph(int numVertices, boolean isDirected, int[] offsets, int[] targets, int[] weights) {
+        this.numVertices = numVertices;
+        this.isDirected = isDirected;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CSRGraph fromGraph(AdjacencyGraph graph) {
+        if (graph instanceof CSRGraph) {
+            return (CSRGraph) graph; // already immutable, no copy needed
+        }
+        int n = graph.getNumVertices();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.getOutDegree(u);
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int base = offsets[u];
+            int degree = offsets[u + 1] - base;
+            for (int i = 0; i < degree; i++) {
+                targets[base + i] = graph.getEdgeTarget(u, i);
+                weights[base + i] = graph.getEdgeWeight(u, i);
+            }
+        }
+        return new CSRGraph(n, graph.isDirected(), offsets, targets, weights);
+    }
+
+    /**
+     * Reverse graph: every arc u->v becomes v->u with the same weight.
+     * In-edges of each vertex are ordered by source vertex.
+     */
+    public CSRGraph transpose() {
+        int[] reverseOffsets = new int[numVertices + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+
+        int[] cursor = Arrays.copyOf(reverseOffsets, numVertices);
+        int[] reverseTargets = new int[targets.length];
+        int[] reverseWeights = new int[targets.length];
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int pos = cursor[targets[i]]++;
+                reverseTargets[pos] = u;
+                reverseWeights[pos] = weights[i];
+            }
+        }
+        return new CSRGraph(numVertices, isDirected, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return isDirected ? targets.length : targets.length / 2;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return isDirected;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    @Override
+    public int getEdgeTarget(int vertex, int index) {
+        return targets[offsets[vertex] + index];
+    }
+
+    @Override
+    public int getEdgeWeight(int vertex, int index) {
+        return weights[offsets[vertex] + index];
+    }
+
+    /**
+     * Index of the vertex's first out-edge in the packed edge arrays: out-edge i of the
+     * vertex is stored edge getEdgeOffset(vertex) + i, so per-edge data can live in one flat array.
+     * getEdgeOffset(getNumVertices()) is the number of stored arcs, which counts an undirected
+     * edge twice.
+     */
+    public int getEdgeOffset(int vertex) {
+        return offsets[vertex];
+    }
+
+    @Override
+    public void forEachEdge(int vertex, EdgeVisitor visitor) {
+        for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            visitor.visit(targets[i], weights[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CSRGraph{vertices=%d, edges=%d, directed=%b}",
+                numVertices, getNumEdges(), isDirected);
+    }
+
+    public static class Builder {
+        private final int numVertices;
+        private final boolean isDirected;
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private int[] weight = new int[16];
+        private int size;
+
+        public Builder(int numVertices, boolean isDirected) {
+            if (numVertices < 0) {
+                throw new IllegalArgumentException("Invalid vertex count: " + numVertices);
+            }
+            this.numVertices = numVertices;
+            this.isDirected = isDirected;
+        }
+
+        public Builder addEdge(int u, int v, int w) {
+            if (u < 0 || u >= numVertices || v < 0 || v >= numVertices) {
+                throw new IllegalArgumentException("Invalid vertex: " + u + " or " + v);
+            }
+            append(u, v, w);
+            if (!isDirected) {
+                append(v, u, w);
+            }
+            return this;
+        }
+
+        private void append(int u, int v, int w) {
+            if (size == from.length) {
+                int capacity = Math.max(16, size + (size >> 1));
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+        }
+
+        public CSRGraph build() {
+            // Stable counting sort by source keeps per-vertex insertion order
+            int[] offsets = new int[numVertices + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[from[i] + 1]++;
+            }
+            for (int u = 0; u < numVertices; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, numVertices);
+            int[] targets = new int[size];
+            int[] weights = new int[size];
+            for (int i = 0; i < size; i++) {
+                int pos = cursor[from[i]]++;
+                targets[pos] = to[i];
+                weights[pos] = weight[i];
+            }
+            return new CSRGraph(numVertices, isDirected, offsets, targets, weights);
+        }
+    }
+}
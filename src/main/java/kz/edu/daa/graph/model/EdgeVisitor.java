@@ -0,0 +1,9 @@
+package kz.edu.daa.graph.model;
+
+/**
+ * Callback for allocation-free out-edge iteration, see {@link AdjacencyGraph#forEachEdge}.
+ */
+@FunctionalInterface
+public interface EdgeVisitor {
+    void visit(int to, int weight);
+}
@@ -2,18 +2,18 @@ package kz.edu.daa.graph.model;
 
 import java.util.*;
 
-public class Graph {
+public class Graph implements AdjacencyGraph {
     private final int numVertices;
-    private final Map<Integer, List<Edge>> adjacencyList;
+    private final List<List<Edge>> adjacencyList;
     private final boolean isDirected;
 
     public Graph(int numVertices, boolean isDirected) {
         this.numVertices = numVertices;
         this.isDirected = isDirected;
-        this.adjacencyList = new HashMap<>();
+        this.adjacencyList = new ArrayList<>(numVertices);
 
         for (int i = 0; i < numVertices; i++) {
-            adjacencyList.put(i, new ArrayList<>());
+            adjacencyList.add(new ArrayList<>());
         }
     }
 
@@ -38,32 +38,76 @@ public class Graph {
         return new ArrayList<>(adjacencyList.get(vertex));
     }
 
+    /**
+     * Read-only view of the out-edges of a vertex; unlike getEdges it does not copy.
+     */
+    public List<Edge> getEdgesView(int vertex) {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new IllegalArgumentException("Invalid vertex: " + vertex);
+        }
+        return Collections.unmodifiableList(adjacencyList.get(vertex));
+    }
+
+    @Override
+    public void forEachEdge(int vertex, EdgeVisitor visitor) {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new IllegalArgumentException("Invalid vertex: " + vertex);
+        }
+        List<Edge> edges = adjacencyList.get(vertex);
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            visitor.visit(edge.getTo(), edge.getWeight());
+        }
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return adjacencyList.get(vertex).size();
+    }
+
+    @Override
+    public int getEdgeTarget(int vertex, int index) {
+        return adjacencyList.get(vertex).get(index).getTo();
+    }
+
+    @Override
+    public int getEdgeWeight(int vertex, int index) {
+        return adjacencyList.get(vertex).get(index).getWeight();
+    }
+
+    @Override
     public int getNumVertices() {
         return numVertices;
     }
 
+    @Override
     public int getNumEdges() {
         int count = 0;
-        for (List<Edge> edges : adjacencyList.values()) {
+        for (List<Edge> edges : adjacencyList) {
             count += edges.size();
         }
         return isDirected ? count : count / 2;
     }
 
+    @Override
     public boolean isDirected() {
         return isDirected;
     }
 
     public List<Edge> getAllEdges() {
         List<Edge> allEdges = new ArrayList<>();
-        for (List<Edge> edges : adjacencyList.values()) {
+        for (List<Edge> edges : adjacencyList) {
             allEdges.addAll(edges);
         }
         return allEdges;
     }
 
     public List<Integer> getVertices() {
-        return new ArrayList<>(adjacencyList.keySet());
+        List<Integer> vertices = new ArrayList<>(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            vertices.add(i);
+        }
+        return vertices;
     }
 
     @Override
@@ -71,10 +115,9 @@ public class Graph {
         StringBuilder sb = new StringBuilder();
         sb.append("Graph{vertices=").append(numVertices)
                 .append(", directed=").append(isDirected).append("}\n");
-        for (int v : getVertices()) {
+        for (int v = 0; v < numVertices; v++) {
             sb.append(v).append(" -> ");
-            List<Edge> edges = getEdges(v);
-            for (Edge e : edges) {
+            for (Edge e : adjacencyList.get(v)) {
                 sb.append(e.getTo()).append("(w=").append(e.getWeight()).append(") ");
             }
             sb.append("\n");
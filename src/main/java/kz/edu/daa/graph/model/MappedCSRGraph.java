@@ -0,0 +1,77 @@
+package kz.edu.daa.graph.model;
+
+import java.nio.IntBuffer;
+
+/**
+ * CSR graph over int buffers, typically slices of a memory-mapped file, so a graph can
+ * be used without copying its arrays onto the heap. Same layout as CSRGraph: out-edges
+ * of v occupy offsets[v] .. offsets[v + 1] - 1 of the targets and weights buffers.
+ *
+ * The buffers must not be modified while the graph is in use. Reads use absolute gets
+ * only, so the graph is safe to share between threads.
+ */
+public final class MappedCSRGraph implements AdjacencyGraph {
+    private final int numVertices;
+    private final boolean isDirected;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    public MappedCSRGraph(int numVertices, boolean isDirected, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        if (offsets.limit() != numVertices + 1 || targets.limit() != weights.limit()) {
+            throw new IllegalArgumentException("Buffer sizes do not match " + numVertices + " vertices");
+        }
+        if (offsets.get(0) != 0 || offsets.get(numVertices) != targets.limit()) {
+            throw new IllegalArgumentException("Offsets do not span the edge arrays");
+        }
+        this.numVertices = numVertices;
+        this.isDirected = isDirected;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return isDirected ? targets.limit() : targets.limit() / 2;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return isDirected;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return offsets.get(vertex + 1) - offsets.get(vertex);
+    }
+
+    @Override
+    public int getEdgeTarget(int vertex, int index) {
+        return targets.get(offsets.get(vertex) + index);
+    }
+
+    @Override
+    public int getEdgeWeight(int vertex, int index) {
+        return weights.get(offsets.get(vertex) + index);
+    }
+
+    @Override
+    public void forEachEdge(int vertex, EdgeVisitor visitor) {
+        int end = offsets.get(vertex + 1);
+        for (int i = offsets.get(vertex); i < end; i++) {
+            visitor.visit(targets.get(i), weights.get(i));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MappedCSRGraph{vertices=%d, edges=%d, directed=%b}",
+                numVertices, getNumEdges(), isDirected);
+    }
+}
@@ -1,59 +1,119 @@
 package kz.edu.daa.graph.scc;
 
-import kz.edu.daa.graph.model.Edge;
+import kz.edu.daa.graph.model.AdjacencyGraph;
 import kz.edu.daa.graph.model.Graph;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class CondensationGraph {
-    private final Graph originalGraph;
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    private final AdjacencyGraph originalGraph;
     private final List<List<Integer>> sccs;
-    private final Graph condensationDAG;
-    private final Map<Integer, Integer> vertexToSCC; // maps original vertex to SCC index
+    private final int[] vertexToSCC; // maps original vertex to SCC index
+    private final ParallelEdgePolicy defaultPolicy;
+    private final Map<ParallelEdgePolicy, Graph> dagByPolicy = new EnumMap<>(ParallelEdgePolicy.class);
+
+    private final EdgeAccumulator edges; // distinct inter-SCC edges in first-occurrence order
 
-    public CondensationGraph(Graph originalGraph, List<List<Integer>> sccs) {
+    public CondensationGraph(AdjacencyGraph originalGraph, List<List<Integer>> sccs) {
+        this(originalGraph, sccs, ParallelEdgePolicy.FIRST);
+    }
+
+    public CondensationGraph(AdjacencyGraph originalGraph, List<List<Integer>> sccs, ParallelEdgePolicy policy) {
+        this(originalGraph, sccs, policy, null);
+    }
+
+    /**
+     * Builds the condensation on the given pool: vertices are split into contiguous
+     * chunks, each worker deduplicates its chunk's cross-SCC edges locally and the
+     * chunks are merged in vertex order, so the DAG is identical to the sequential build.
+     * A null pool builds sequentially.
+     */
+    public CondensationGraph(AdjacencyGraph originalGraph, List<List<Integer>> sccs,
+                             ParallelEdgePolicy policy, ForkJoinPool pool) {
         this.originalGraph = originalGraph;
         this.sccs = sccs;
-        this.vertexToSCC = new HashMap<>();
-        this.condensationDAG = new Graph(sccs.size(), true);
+        this.defaultPolicy = policy;
+        this.vertexToSCC = new int[originalGraph.getNumVertices()];
 
         // Build vertex to SCC mapping
         for (int i = 0; i < sccs.size(); i++) {
             for (int vertex : sccs.get(i)) {
-                vertexToSCC.put(vertex, i);
+                vertexToSCC[vertex] = i;
             }
         }
 
-        buildCondensationGraph();
+        if (pool == null) {
+            this.edges = collectCrossEdges(0, originalGraph.getNumVertices());
+        } else {
+            this.edges = collectCrossEdgesParallel(pool);
+        }
     }
 
-    private void buildCondensationGraph() {
-        Set<String> addedEdges = new HashSet<>(); // To avoid duplicate edges between SCCs
+    private EdgeAccumulator collectCrossEdges(int fromVertex, int toVertex) {
+        // To avoid duplicate edges between SCCs, keyed by the packed (sccU, sccV) pair
+        EdgeAccumulator crossEdges = new EdgeAccumulator(Math.min(sccs.size(), toVertex - fromVertex));
 
-        for (int u = 0; u < originalGraph.getNumVertices(); u++) {
-            int sccU = vertexToSCC.get(u);
+        for (int u = fromVertex; u < toVertex; u++) {
+            int sccU = vertexToSCC[u];
 
-            for (Edge edge : originalGraph.getEdges(u)) {
-                int v = edge.getTo();
-                int sccV = vertexToSCC.get(v);
+            int degree = originalGraph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = originalGraph.getEdgeTarget(u, i);
+                int sccV = vertexToSCC[v];
 
                 // If edge connects different SCCs
                 if (sccU != sccV) {
-                    String edgeKey = sccU + "->" + sccV;
-                    if (!addedEdges.contains(edgeKey)) {
-                        condensationDAG.addEdge(sccU, sccV, edge.getWeight());
-                        addedEdges.add(edgeKey);
-                    }
+                    crossEdges.add(sccU, sccV, originalGraph.getEdgeWeight(u, i));
                 }
             }
         }
+        return crossEdges;
+    }
+
+    private EdgeAccumulator collectCrossEdgesParallel(ForkJoinPool pool) {
+        int n = originalGraph.getNumVertices();
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * 4, n / MIN_CHUNK_SIZE));
+        int chunkSize = (n + chunkCount - 1) / chunkCount;
+
+        List<ForkJoinTask<EdgeAccumulator>> chunks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            int start = Math.min(n, c * chunkSize);
+            int end = Math.min(n, start + chunkSize);
+            chunks.add(pool.submit(() -> collectCrossEdges(start, end)));
+        }
+
+        EdgeAccumulator merged = chunks.get(0).join();
+        for (int c = 1; c < chunkCount; c++) {
+            merged.addAll(chunks.get(c).join());
+        }
+        return merged;
     }
 
     public Graph getCondensationDAG() {
-        return condensationDAG;
+        return getCondensationDAG(defaultPolicy);
+    }
+
+    /**
+     * Condensation DAG whose parallel inter-SCC edges are merged with the given policy.
+     * All policies share the same edge structure and order; only weights differ.
+     */
+    public Graph getCondensationDAG(ParallelEdgePolicy policy) {
+        Graph dag = dagByPolicy.get(policy);
+        if (dag == null) {
+            dag = new Graph(sccs.size(), true);
+            for (int i = 0; i < edges.size(); i++) {
+                dag.addEdge(edges.from(i), edges.to(i), edges.weight(i, policy));
+            }
+            dagByPolicy.put(policy, dag);
+        }
+        return dag;
     }
 
     public int getSCCOfVertex(int vertex) {
-        return vertexToSCC.get(vertex);
+        return vertexToSCC[vertex];
     }
 
     public List<Integer> getVerticesInSCC(int sccIndex) {
@@ -71,6 +131,6 @@ public class CondensationGraph {
             System.out.printf("SCC %d: %s\n", i, sccs.get(i));
         }
         System.out.println("\nCondensation DAG:");
-        System.out.println(condensationDAG);
+        System.out.println(getCondensationDAG());
     }
 }
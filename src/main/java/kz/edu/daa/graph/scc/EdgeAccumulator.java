@@ -0,0 +1,86 @@
+package kz.edu.daa.graph.scc;
+
+import java.util.Arrays;
+
+/**
+ * Distinct (from, to) edges in first-occurrence order, remembering the first,
+ * minimum and maximum weight seen for each pair.
+ */
+final class EdgeAccumulator {
+    private final EdgeKeyIndex index;
+    private int size;
+    private int[] from;
+    private int[] to;
+    private int[] firstWeight;
+    private int[] minWeight;
+    private int[] maxWeight;
+
+    EdgeAccumulator(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.index = new EdgeKeyIndex(capacity);
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.firstWeight = new int[capacity];
+        this.minWeight = new int[capacity];
+        this.maxWeight = new int[capacity];
+    }
+
+    void add(int u, int v, int weight) {
+        addRange(u, v, weight, weight, weight);
+    }
+
+    /**
+     * Appends all edges of a later chunk; the result equals adding them one by one.
+     */
+    void addAll(EdgeAccumulator other) {
+        for (int i = 0; i < other.size; i++) {
+            addRange(other.from[i], other.to[i], other.firstWeight[i], other.minWeight[i], other.maxWeight[i]);
+        }
+    }
+
+    private void addRange(int u, int v, int first, int min, int max) {
+        int existing = index.putIfAbsent(EdgeKeyIndex.pack(u, v), size);
+        if (existing >= 0) {
+            minWeight[existing] = Math.min(minWeight[existing], min);
+            maxWeight[existing] = Math.max(maxWeight[existing], max);
+            return;
+        }
+        if (size == from.length) {
+            int capacity = size + (size >> 1);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            firstWeight = Arrays.copyOf(firstWeight, capacity);
+            minWeight = Arrays.copyOf(minWeight, capacity);
+            maxWeight = Arrays.copyOf(maxWeight, capacity);
+        }
+        from[size] = u;
+        to[size] = v;
+        firstWeight[size] = first;
+        minWeight[size] = min;
+        maxWeight[size] = max;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int from(int i) {
+        return from[i];
+    }
+
+    int to(int i) {
+        return to[i];
+    }
+
+    int weight(int i, ParallelEdgePolicy policy) {
+        switch (policy) {
+            case MIN:
+                return minWeight[i];
+            case MAX:
+                return maxWeight[i];
+            default:
+                return firstWeight[i];
+        }
+    }
+}
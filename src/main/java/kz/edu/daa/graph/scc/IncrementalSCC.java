@@ -0,0 +1,571 @@
+package kz.edu.daa.graph.scc;
+
+import kz.edu.daa.graph.metrics.Counter;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.Graph;
+
+import java.util.*;
+
+/**
+ * SCCs and condensation DAG maintained under edge insertions.
+ *
+ * Components are kept in a topological order (Pearce-Kelly style positions, with holes
+ * left by merges). Inserting u -> v between components cu and cv costs nothing more
+ * when cu already precedes cv. Otherwise only the components whose position lies
+ * between cv and cu are searched: forward from cv and backward from cu. If the forward
+ * search reaches cu, the components found by both searches lie on the new cycle and
+ * are merged into one; the remaining affected components are reordered in the
+ * positions the affected set already occupied. Components are identified by a
+ * representative vertex; merges relabel the smaller side, so each vertex is relabeled
+ * at most log n times.
+ *
+ * The condensation keeps one slot per component pair in flat arrays, holding the
+ * first-inserted, minimum and maximum weight of the original edges it stands for, and
+ * finds slots through a packed (from, to) EdgeKeyIndex. Every component lists the slots
+ * of its outgoing and incoming edges, so searches and merges only touch the components
+ * involved. Slots killed by a merge stay in other lists until the list is next compacted
+ * and are skipped when read. MIN and MAX match
+ * CondensationGraph over the same edges; FIRST follows insertion order rather than
+ * vertex order (the two agree right after a rebuild).
+ * getCondensationDAG materializes a Graph whose vertices are the components in
+ * topological order; it is cached until the next structural change.
+ *
+ * A full Tarjan recompute happens only on rebuild() or for an addEdges batch large
+ * enough that recomputing is cheaper than searching per edge.
+ */
+public class IncrementalSCC {
+    // A batch with more than 1/8 of the current edge count is applied by recomputing
+    private static final int REBUILD_BATCH_DIVISOR = 8;
+
+    private final Graph graph; // every edge inserted so far, used by rebuild()
+    private final boolean directed;
+    private final Metrics metrics;
+    private final Counter updates;
+    private final Counter merges;
+    private final Counter rebuilds;
+    private final Counter componentsSearched;
+
+    private final int[] component; // vertex -> representative vertex of its SCC
+    private final int[] position;  // representative -> topological position
+    private final List<List<Integer>> members;
+    private int numComponents;
+    private int edgeSeq;
+
+    // Condensation edge slots; a slot killed by a merge has edgeFrom -1
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeSeqs; // insertion sequence of the edge providing the FIRST weight
+    private int[] edgeFirst;
+    private int[] edgeMin;
+    private int[] edgeMax;
+    private int numSlots;
+    private EdgeKeyIndex slotIndex; // pack(from rep, to rep) -> slot
+
+    // Per representative: slots of its outgoing and incoming condensation edges
+    private final int[][] outSlots;
+    private final int[] outCount;
+    private final int[][] inSlots;
+    private final int[] inCount;
+
+    // Search scratch space, reset after every update
+    private final boolean[] forwardMark;
+    private final boolean[] backwardMark;
+    private final boolean[] mergingMark;
+    private final int[] stack;
+    private final int[] forwardFound;
+    private final int[] backwardFound;
+
+    // Snapshot for getCondensationDAG, rebuilt lazily
+    private List<List<Integer>> orderedComponents;
+    private int[] componentIndex;
+    private final Map<ParallelEdgePolicy, Graph> dagByPolicy = new EnumMap<>(ParallelEdgePolicy.class);
+
+    public IncrementalSCC(AdjacencyGraph initial, Metrics metrics) {
+        int n = initial.getNumVertices();
+        this.directed = initial.isDirected();
+        this.graph = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            int degree = initial.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                graph.addEdge(u, initial.getEdgeTarget(u, i), initial.getEdgeWeight(u, i));
+            }
+        }
+        this.metrics = metrics;
+        this.updates = metrics.counter("Incremental SCC updates");
+        this.merges = metrics.counter("SCC merges");
+        this.rebuilds = metrics.counter("SCC rebuilds");
+        this.componentsSearched = metrics.counter("Components searched");
+        this.component = new int[n];
+        this.position = new int[n];
+        this.members = new ArrayList<>(Collections.nCopies(n, null));
+        this.outSlots = new int[n][];
+        this.outCount = new int[n];
+        this.inSlots = new int[n][];
+        this.inCount = new int[n];
+        this.forwardMark = new boolean[n];
+        this.backwardMark = new boolean[n];
+        this.mergingMark = new boolean[n];
+        this.stack = new int[n];
+        this.forwardFound = new int[n];
+        this.backwardFound = new int[n];
+        recompute();
+    }
+
+    /**
+     * Inserts u -> v (and v -> u for an undirected graph).
+     * Returns true if the insertion merged components.
+     */
+    public boolean addEdge(int u, int v, int weight) {
+        long startTime = System.nanoTime();
+        graph.addEdge(u, v, weight);
+        boolean merged = insert(u, v, weight);
+        if (!directed) {
+            graph.addEdge(v, u, weight);
+            merged |= insert(v, u, weight);
+        }
+        updates.increment();
+        metrics.addTime("Incremental SCC", System.nanoTime() - startTime);
+        return merged;
+    }
+
+    /**
+     * Inserts a batch of edges; returns true if any components merged. Large batches are
+     * appended and recomputed from scratch instead of being applied one by one. The batch
+     * is validated first: an invalid edge throws IllegalArgumentException and inserts nothing.
+     */
+    public boolean addEdges(int[] from, int[] to, int[] weights) {
+        if (from.length != to.length || from.length != weights.length) {
+            throw new IllegalArgumentException("Edge arrays differ in length");
+        }
+        int n = graph.getNumVertices();
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] < 0 || from[i] >= n || to[i] < 0 || to[i] >= n) {
+                throw new IllegalArgumentException("Invalid vertex: " + from[i] + " or " + to[i]);
+            }
+        }
+        if ((long) from.length * REBUILD_BATCH_DIVISOR <= graph.getNumEdges()) {
+            boolean merged = false;
+            for (int i = 0; i < from.length; i++) {
+                merged |= addEdge(from[i], to[i], weights[i]);
+            }
+            return merged;
+        }
+        for (int i = 0; i < from.length; i++) {
+            graph.addEdge(from[i], to[i], weights[i]);
+            if (!directed) {
+                graph.addEdge(to[i], from[i], weights[i]);
+            }
+        }
+        int before = numComponents;
+        rebuild();
+        return numComponents < before;
+    }
+
+    /** Recomputes everything from the current edge set with Tarjan. */
+    public void rebuild() {
+        rebuilds.increment();
+        recompute();
+    }
+
+    private void recompute() {
+        long startTime = System.nanoTime();
+        List<List<Integer>> sccs = new TarjanSCC(graph, metrics).findSCCs();
+        int n = graph.getNumVertices();
+        Collections.fill(members, null);
+        Arrays.fill(outSlots, null);
+        Arrays.fill(outCount, 0);
+        Arrays.fill(inSlots, null);
+        Arrays.fill(inCount, 0);
+        int capacity = Math.max(16, graph.getNumEdges());
+        edgeFrom = new int[capacity];
+        edgeTo = new int[capacity];
+        edgeSeqs = new int[capacity];
+        edgeFirst = new int[capacity];
+        edgeMin = new int[capacity];
+        edgeMax = new int[capacity];
+        numSlots = 0;
+        slotIndex = new EdgeKeyIndex(capacity);
+
+        // Tarjan emits components in reverse topological order
+        numComponents = sccs.size();
+        for (int i = 0; i < sccs.size(); i++) {
+            List<Integer> scc = sccs.get(i);
+            int rep = scc.get(0);
+            for (int vertex : scc) {
+                component[vertex] = rep;
+            }
+            members.set(rep, new ArrayList<>(scc));
+            position[rep] = sccs.size() - 1 - i;
+        }
+
+        edgeSeq = 0;
+        for (int u = 0; u < n; u++) {
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int cu = component[u];
+                int cv = component[graph.getEdgeTarget(u, i)];
+                if (cu != cv) {
+                    addCrossEdge(cu, cv, edgeSeq++, graph.getEdgeWeight(u, i));
+                }
+            }
+        }
+        invalidate();
+        metrics.addTime("Incremental SCC rebuild", System.nanoTime() - startTime);
+    }
+
+    private boolean insert(int u, int v, int weight) {
+        int cu = component[u];
+        int cv = component[v];
+        if (cu == cv) {
+            return false;
+        }
+        boolean newEdge = addCrossEdge(cu, cv, edgeSeq++, weight);
+        invalidate(); // weights may have changed even if the edge existed
+        if (!newEdge || position[cu] < position[cv]) {
+            return false;
+        }
+
+        // Affected region: positions in [position[cv], position[cu]]
+        int numForward = search(cv, position[cu], true, forwardMark, forwardFound);
+        int numBackward = search(cu, position[cv], false, backwardMark, backwardFound);
+        componentsSearched.add(numForward + numBackward);
+        boolean cycle = forwardMark[cu];
+
+        int[] pool = new int[numForward + numBackward];
+        int k = 0;
+        for (int i = 0; i < numBackward; i++) {
+            pool[k++] = position[backwardFound[i]];
+        }
+        for (int i = 0; i < numForward; i++) {
+            if (!backwardMark[forwardFound[i]]) {
+                pool[k++] = position[forwardFound[i]];
+            }
+        }
+        Arrays.sort(pool, 0, k);
+
+        // New order: backward-only, then the cycle (merged), then forward-only
+        sortByPosition(backwardFound, numBackward);
+        sortByPosition(forwardFound, numForward);
+        int[] cycleComponents = new int[numBackward];
+        int cycleSize = 0;
+        int next = 0;
+        for (int i = 0; i < numBackward; i++) {
+            int c = backwardFound[i];
+            if (forwardMark[c]) {
+                cycleComponents[cycleSize++] = c;
+            } else {
+                position[c] = pool[next++];
+            }
+        }
+        if (cycle) {
+            int rep = merge(cycleComponents, cycleSize);
+            position[rep] = pool[next];
+            next += cycleSize;
+        }
+        for (int i = 0; i < numForward; i++) {
+            int c = forwardFound[i];
+            if (!backwardMark[c]) {
+                position[c] = pool[next++];
+            }
+        }
+
+        for (int i = 0; i < numForward; i++) {
+            forwardMark[forwardFound[i]] = false;
+        }
+        for (int i = 0; i < numBackward; i++) {
+            backwardMark[backwardFound[i]] = false;
+        }
+        return cycle;
+    }
+
+    // Components reachable from start (forward) or reaching it (backward) within the
+    // position bound, written to found; returns how many
+    private int search(int start, int bound, boolean forward, boolean[] mark, int[] found) {
+        int numFound = 0;
+        int top = 0;
+        mark[start] = true;
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            found[numFound++] = c;
+            int[] slots = forward ? outSlots[c] : inSlots[c];
+            int degree = forward ? outCount[c] : inCount[c];
+            for (int i = 0; i < degree; i++) {
+                int slot = slots[i];
+                if (edgeFrom[slot] < 0) {
+                    continue;
+                }
+                int d = forward ? edgeTo[slot] : edgeFrom[slot];
+                boolean inRange = forward ? position[d] <= bound : position[d] >= bound;
+                if (!mark[d] && inRange) {
+                    mark[d] = true;
+                    stack[top++] = d;
+                }
+            }
+        }
+        return numFound;
+    }
+
+    // Positions are below n, so (position, rep) packs into one sortable long
+    private void sortByPosition(int[] components, int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (long) position[components[i]] << 32 | components[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < count; i++) {
+            components[i] = (int) keys[i];
+        }
+    }
+
+    // Merges the components into the largest one and returns its representative
+    private int merge(int[] cycleComponents, int count) {
+        int rep = cycleComponents[0];
+        for (int i = 0; i < count; i++) {
+            int c = cycleComponents[i];
+            mergingMark[c] = true;
+            if (members.get(c).size() > members.get(rep).size()) {
+                rep = c;
+            }
+        }
+        List<Integer> repMembers = members.get(rep);
+        int outTotal = 0;
+        int inTotal = 0;
+        for (int i = 0; i < count; i++) {
+            int c = cycleComponents[i];
+            outTotal += outCount[c];
+            inTotal += inCount[c];
+            if (c == rep) {
+                continue;
+            }
+            for (int vertex : members.get(c)) {
+                component[vertex] = rep;
+            }
+            repMembers.addAll(members.get(c));
+            members.set(c, null);
+        }
+
+        // Re-key edges of the merged components; edges inside the new SCC die, and edges
+        // that now share endpoints fold into one slot
+        int[] repOut = new int[Math.max(4, outTotal)];
+        int repOutCount = 0;
+        for (int i = 0; i < count; i++) {
+            int c = cycleComponents[i];
+            for (int j = 0; j < outCount[c]; j++) {
+                int slot = outSlots[c][j];
+                if (edgeFrom[slot] < 0) {
+                    continue;
+                }
+                int target = edgeTo[slot];
+                slotIndex.remove(EdgeKeyIndex.pack(c, target));
+                if (mergingMark[target]) {
+                    edgeFrom[slot] = -1;
+                } else if (!rekey(slot, rep, target)) {
+                    edgeFrom[slot] = rep;
+                    repOut[repOutCount++] = slot;
+                }
+            }
+        }
+        int[] repIn = new int[Math.max(4, inTotal)];
+        int repInCount = 0;
+        for (int i = 0; i < count; i++) {
+            int c = cycleComponents[i];
+            for (int j = 0; j < inCount[c]; j++) {
+                int slot = inSlots[c][j];
+                if (edgeFrom[slot] < 0) {
+                    continue; // includes the edges inside the new SCC, killed above
+                }
+                int source = edgeFrom[slot];
+                slotIndex.remove(EdgeKeyIndex.pack(source, c));
+                if (!rekey(slot, source, rep)) {
+                    edgeTo[slot] = rep;
+                    repIn[repInCount++] = slot;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int c = cycleComponents[i];
+            mergingMark[c] = false;
+            outSlots[c] = null;
+            outCount[c] = 0;
+            inSlots[c] = null;
+            inCount[c] = 0;
+        }
+        outSlots[rep] = repOut;
+        outCount[rep] = repOutCount;
+        inSlots[rep] = repIn;
+        inCount[rep] = repInCount;
+
+        numComponents -= count - 1;
+        merges.add(count - 1);
+        return rep;
+    }
+
+    // Files the slot under (from, to); if that pair already has a slot, folds this one
+    // into it, kills it and returns true
+    private boolean rekey(int slot, int from, int to) {
+        int existing = slotIndex.putIfAbsent(EdgeKeyIndex.pack(from, to), slot);
+        if (existing < 0) {
+            return false;
+        }
+        combine(existing, edgeSeqs[slot], edgeFirst[slot], edgeMin[slot], edgeMax[slot]);
+        edgeFrom[slot] = -1;
+        return true;
+    }
+
+    // Returns true if cu -> cv is a new condensation edge
+    private boolean addCrossEdge(int cu, int cv, int seq, int weight) {
+        int existing = slotIndex.putIfAbsent(EdgeKeyIndex.pack(cu, cv), numSlots);
+        if (existing >= 0) {
+            combine(existing, seq, weight, weight, weight);
+            return false;
+        }
+        if (numSlots == edgeFrom.length) {
+            int capacity = numSlots * 2;
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeSeqs = Arrays.copyOf(edgeSeqs, capacity);
+            edgeFirst = Arrays.copyOf(edgeFirst, capacity);
+            edgeMin = Arrays.copyOf(edgeMin, capacity);
+            edgeMax = Arrays.copyOf(edgeMax, capacity);
+        }
+        int slot = numSlots++;
+        edgeFrom[slot] = cu;
+        edgeTo[slot] = cv;
+        edgeSeqs[slot] = seq;
+        edgeFirst[slot] = edgeMin[slot] = edgeMax[slot] = weight;
+        append(outSlots, outCount, cu, slot);
+        append(inSlots, inCount, cv, slot);
+        return true;
+    }
+
+    // The earliest inserted edge provides the FIRST weight
+    private void combine(int slot, int seq, int first, int min, int max) {
+        if (seq < edgeSeqs[slot]) {
+            edgeSeqs[slot] = seq;
+            edgeFirst[slot] = first;
+        }
+        edgeMin[slot] = Math.min(edgeMin[slot], min);
+        edgeMax[slot] = Math.max(edgeMax[slot], max);
+    }
+
+    // Appends to a rep's slot list; a full list first drops killed slots and only grows
+    // if that frees less than a quarter of it
+    private void append(int[][] lists, int[] counts, int rep, int slot) {
+        int[] slots = lists[rep];
+        int count = counts[rep];
+        if (slots == null) {
+            slots = lists[rep] = new int[4];
+        } else if (count == slots.length) {
+            int live = 0;
+            for (int i = 0; i < count; i++) {
+                if (edgeFrom[slots[i]] >= 0) {
+                    slots[live++] = slots[i];
+                }
+            }
+            count = live;
+            if (count * 4 > slots.length * 3) {
+                slots = lists[rep] = Arrays.copyOf(slots, slots.length * 2);
+            }
+        }
+        slots[count] = slot;
+        counts[rep] = count + 1;
+    }
+
+    private void invalidate() {
+        orderedComponents = null;
+        componentIndex = null;
+        dagByPolicy.clear();
+    }
+
+    /** Representative vertex of the SCC containing the vertex. */
+    public int getComponent(int vertex) {
+        return component[vertex];
+    }
+
+    public boolean isSameComponent(int u, int v) {
+        return component[u] == component[v];
+    }
+
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    public List<Integer> getVerticesInComponent(int vertex) {
+        return new ArrayList<>(members.get(component[vertex]));
+    }
+
+    /** Current SCCs in topological order; index i is vertex i of getCondensationDAG. */
+    public List<List<Integer>> getComponents() {
+        snapshot();
+        return orderedComponents;
+    }
+
+    /** Index of the vertex's SCC in getComponents() and getCondensationDAG(). */
+    public int getComponentIndex(int vertex) {
+        snapshot();
+        return componentIndex[component[vertex]];
+    }
+
+    public Graph getCondensationDAG() {
+        return getCondensationDAG(ParallelEdgePolicy.FIRST);
+    }
+
+    /**
+     * Condensation DAG with components numbered in topological order; edges appear in
+     * the order their first original edge was inserted.
+     */
+    public Graph getCondensationDAG(ParallelEdgePolicy policy) {
+        snapshot();
+        Graph dag = dagByPolicy.get(policy);
+        if (dag == null) {
+            // Live slots of the components, sorted by insertion sequence through (seq, slot) keys
+            long[] keys = new long[numSlots];
+            int numEdges = 0;
+            for (List<Integer> scc : orderedComponents) {
+                int rep = component[scc.get(0)];
+                for (int i = 0; i < outCount[rep]; i++) {
+                    int slot = outSlots[rep][i];
+                    if (edgeFrom[slot] >= 0) {
+                        keys[numEdges++] = (long) edgeSeqs[slot] << 32 | slot;
+                    }
+                }
+            }
+            Arrays.sort(keys, 0, numEdges);
+            dag = new Graph(orderedComponents.size(), true);
+            for (int i = 0; i < numEdges; i++) {
+                int slot = (int) keys[i];
+                int weight = policy == ParallelEdgePolicy.MIN ? edgeMin[slot]
+                        : policy == ParallelEdgePolicy.MAX ? edgeMax[slot] : edgeFirst[slot];
+                dag.addEdge(componentIndex[edgeFrom[slot]], componentIndex[edgeTo[slot]], weight);
+            }
+            dagByPolicy.put(policy, dag);
+        }
+        return dag;
+    }
+
+    private void snapshot() {
+        if (orderedComponents != null) {
+            return;
+        }
+        List<Integer> reps = new ArrayList<>(numComponents);
+        for (int rep = 0; rep < members.size(); rep++) {
+            if (members.get(rep) != null) {
+                reps.add(rep);
+            }
+        }
+        reps.sort(Comparator.comparingInt(rep -> position[rep]));
+        componentIndex = new int[component.length];
+        orderedComponents = new ArrayList<>(reps.size());
+        for (int rep : reps) {
+            componentIndex[rep] = orderedComponents.size();
+            orderedComponents.add(new ArrayList<>(members.get(rep)));
+        }
+    }
+
+    /** All edges inserted so far, including the initial graph, as a directed graph. */
+    public AdjacencyGraph getGraph() {
+        return graph;
+    }
+}
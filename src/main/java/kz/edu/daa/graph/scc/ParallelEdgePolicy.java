@@ -0,0 +1,13 @@
+package kz.edu.daa.graph.scc;
+
+/**
+ * Which weight a condensation edge keeps when several original edges connect the same pair of SCCs.
+ */
+public enum ParallelEdgePolicy {
+    /** Weight of the first edge encountered (scanning vertices in ascending order). */
+    FIRST,
+    /** Smallest weight; keeps shortest paths on the condensation DAG exact. */
+    MIN,
+    /** Largest weight; keeps longest (critical) paths on the condensation DAG exact. */
+    MAX
+}
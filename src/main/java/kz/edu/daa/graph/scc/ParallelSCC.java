@@ -0,0 +1,374 @@
+package kz.edu.daa.graph.scc;
+
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-core SCC decomposition using forward-backward (FW-BW) search with trimming.
+ *
+ * Every subproblem is a set of vertices sharing one color. It first trims vertices
+ * with no in- or out-edges inside the subproblem (each is a singleton SCC), then picks
+ * a pivot: the vertices reachable both forward and backward from it form one SCC, and
+ * the forward-only, backward-only and remaining vertices become three independent
+ * subproblems that run in parallel. Small subproblems, and parts left over by a split
+ * that removed less than 1/8 of its input (e.g. long chains of small SCCs, where FW-BW
+ * would peel one component per pass), are finished with a sequential Tarjan restricted
+ * to their color, so the worst case stays linear.
+ *
+ * Components are returned with sorted vertices, ordered by their smallest vertex, so the
+ * result is deterministic regardless of scheduling (TarjanSCC instead emits components
+ * in reverse topological order). CondensationGraph accepts either.
+ */
+public class ParallelSCC {
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 12;
+    private static final int DONE = -1;
+
+    private final CSRGraph forward;
+    private final CSRGraph backward;
+    private final Metrics metrics;
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    // Per-vertex state; concurrent subproblems own disjoint vertex sets
+    private final int[] color;
+    private final int[] inDegree;
+    private final int[] outDegree;
+    private final int[] ids;
+    private final int[] lowlinks;
+    private final int[] edgeCursor;
+    private final boolean[] onStack;
+
+    private final AtomicInteger nextColor = new AtomicInteger(1);
+    private final ConcurrentLinkedQueue<int[]> components = new ConcurrentLinkedQueue<>();
+    private final AtomicLong trimmedVertices = new AtomicLong();
+    private final AtomicLong pivots = new AtomicLong();
+    private List<List<Integer>> sccs = new ArrayList<>();
+
+    public ParallelSCC(AdjacencyGraph graph, Metrics metrics) {
+        this(graph, metrics, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSCC(AdjacencyGraph graph, Metrics metrics, ForkJoinPool pool) {
+        this(graph, metrics, pool, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    ParallelSCC(AdjacencyGraph graph, Metrics metrics, ForkJoinPool pool, int sequentialThreshold) {
+        this.forward = CSRGraph.fromGraph(graph);
+        this.backward = forward.transpose();
+        this.metrics = metrics;
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+
+        int n = forward.getNumVertices();
+        this.color = new int[n];
+        this.inDegree = new int[n];
+        this.outDegree = new int[n];
+        this.ids = new int[n];
+        this.lowlinks = new int[n];
+        this.edgeCursor = new int[n];
+        this.onStack = new boolean[n];
+    }
+
+    public List<List<Integer>> findSCCs() {
+        long startTime = System.nanoTime();
+
+        int n = forward.getNumVertices();
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) {
+            all[v] = v;
+        }
+        Arrays.fill(color, 0);
+        components.clear();
+        trimmedVertices.set(0);
+        pivots.set(0);
+        if (n > 0) {
+            pool.invoke(new Subproblem(null, all, 0, false));
+        }
+        sccs = collectComponents();
+
+        // Only the calling thread touches metrics; workers count with atomics
+        long endTime = System.nanoTime();
+        metrics.addTime("Parallel SCC", endTime - startTime);
+        metrics.addOperations("Trimmed vertices", trimmedVertices.get());
+        metrics.addOperations("Pivots", pivots.get());
+        metrics.addOperations("SCCs found", sccs.size());
+
+        return sccs;
+    }
+
+    public List<List<Integer>> getSCCs() {
+        return sccs;
+    }
+
+    public long getTrimmedVertexCount() {
+        return trimmedVertices.get();
+    }
+
+    public long getPivotCount() {
+        return pivots.get();
+    }
+
+    private List<List<Integer>> collectComponents() {
+        List<int[]> sorted = new ArrayList<>(components);
+        for (int[] component : sorted) {
+            Arrays.sort(component);
+        }
+        sorted.sort(Comparator.comparingInt(component -> component[0]));
+
+        List<List<Integer>> result = new ArrayList<>(sorted.size());
+        for (int[] component : sorted) {
+            List<Integer> scc = new ArrayList<>(component.length);
+            for (int v : component) {
+                scc.add(v);
+            }
+            result.add(scc);
+        }
+        return result;
+    }
+
+    private final class Subproblem extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] vertices;
+        private final int myColor;
+        private final boolean sequential;
+
+        Subproblem(CountedCompleter<?> parent, int[] vertices, int myColor, boolean sequential) {
+            super(parent);
+            this.vertices = vertices;
+            this.myColor = myColor;
+            this.sequential = sequential;
+        }
+
+        @Override
+        public void compute() {
+            int[] remaining = trim(vertices, myColor);
+
+            if (remaining.length > 0 && (sequential || remaining.length <= sequentialThreshold)) {
+                tarjanWithin(remaining, myColor);
+            } else if (remaining.length > 0) {
+                split(remaining);
+            }
+            tryComplete();
+        }
+
+        private void split(int[] remaining) {
+            pivots.incrementAndGet();
+            int pivot = choosePivot(remaining);
+            int forwardColor = nextColor.getAndIncrement();
+            int backwardColor = nextColor.getAndIncrement();
+            int[] queue = new int[remaining.length];
+
+            // Forward reachability: recolor to forwardColor
+            int head = 0, tail = 0;
+            color[pivot] = forwardColor;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                int u = queue[head++];
+                int degree = forward.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    int v = forward.getEdgeTarget(u, i);
+                    if (color[v] == myColor) {
+                        color[v] = forwardColor;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            // Backward reachability: forward-reached vertices form the SCC
+            int sccSize = 0;
+            head = 0;
+            tail = 0;
+            color[pivot] = DONE;
+            queue[tail++] = pivot;
+            sccSize++;
+            while (head < tail) {
+                int u = queue[head++];
+                int degree = backward.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    int v = backward.getEdgeTarget(u, i);
+                    if (color[v] == forwardColor) {
+                        color[v] = DONE;
+                        queue[tail++] = v;
+                        sccSize++;
+                    } else if (color[v] == myColor) {
+                        color[v] = backwardColor;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            int[] scc = new int[sccSize];
+            int forwardOnly = 0, backwardOnly = 0, rest = 0, k = 0;
+            for (int v : remaining) {
+                int c = color[v];
+                if (c == DONE) {
+                    scc[k++] = v;
+                } else if (c == forwardColor) {
+                    forwardOnly++;
+                } else if (c == backwardColor) {
+                    backwardOnly++;
+                } else {
+                    rest++;
+                }
+            }
+            components.add(scc);
+
+            int poorProgress = remaining.length - remaining.length / 8;
+            fork(partition(remaining, forwardColor, forwardOnly), forwardColor, poorProgress);
+            fork(partition(remaining, backwardColor, backwardOnly), backwardColor, poorProgress);
+            fork(partition(remaining, myColor, rest), myColor, poorProgress);
+        }
+
+        private void fork(int[] part, int partColor, int poorProgress) {
+            if (part.length > 0) {
+                addToPendingCount(1);
+                new Subproblem(this, part, partColor, part.length > poorProgress).fork();
+            }
+        }
+
+        // Highest in*out degree inside the subproblem is most likely to sit in a large SCC
+        private int choosePivot(int[] remaining) {
+            int pivot = remaining[0];
+            long best = -1;
+            for (int v : remaining) {
+                long score = (long) inDegree[v] * outDegree[v];
+                if (score > best) {
+                    best = score;
+                    pivot = v;
+                }
+            }
+            return pivot;
+        }
+    }
+
+    private int[] partition(int[] vertices, int partColor, int size) {
+        int[] part = new int[size];
+        int k = 0;
+        for (int v : vertices) {
+            if (color[v] == partColor) {
+                part[k++] = v;
+            }
+        }
+        return part;
+    }
+
+    // Repeatedly removes vertices with zero in- or out-degree inside the subproblem
+    private int[] trim(int[] vertices, int myColor) {
+        int[] queue = new int[vertices.length];
+        int head = 0, tail = 0;
+
+        for (int v : vertices) {
+            int out = 0;
+            for (int i = 0; i < forward.getOutDegree(v); i++) {
+                if (color[forward.getEdgeTarget(v, i)] == myColor) out++;
+            }
+            int in = 0;
+            for (int i = 0; i < backward.getOutDegree(v); i++) {
+                if (color[backward.getEdgeTarget(v, i)] == myColor) in++;
+            }
+            outDegree[v] = out;
+            inDegree[v] = in;
+        }
+        for (int v : vertices) {
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                color[v] = DONE;
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            int u = queue[head++];
+            components.add(new int[]{u});
+
+            for (int i = 0; i < forward.getOutDegree(u); i++) {
+                int v = forward.getEdgeTarget(u, i);
+                if (color[v] == myColor && --inDegree[v] == 0) {
+                    color[v] = DONE;
+                    queue[tail++] = v;
+                }
+            }
+            for (int i = 0; i < backward.getOutDegree(u); i++) {
+                int v = backward.getEdgeTarget(u, i);
+                if (color[v] == myColor && --outDegree[v] == 0) {
+                    color[v] = DONE;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        trimmedVertices.addAndGet(tail);
+
+        if (tail == 0) {
+            return vertices;
+        }
+        return partition(vertices, myColor, vertices.length - tail);
+    }
+
+    // Iterative Tarjan over the vertices of one color, same scheme as TarjanSCC
+    private void tarjanWithin(int[] vertices, int myColor) {
+        for (int v : vertices) {
+            ids[v] = -1;
+            edgeCursor[v] = 0;
+        }
+        int[] callStack = new int[vertices.length];
+        int[] stack = new int[vertices.length];
+        int stackTop = 0;
+        int nextId = 0;
+
+        for (int root : vertices) {
+            if (ids[root] != -1) continue;
+
+            int callTop = 0;
+            ids[root] = lowlinks[root] = nextId++;
+            stack[stackTop++] = root;
+            onStack[root] = true;
+            callStack[callTop++] = root;
+
+            while (callTop > 0) {
+                int vertex = callStack[callTop - 1];
+                int i = edgeCursor[vertex];
+
+                if (i < forward.getOutDegree(vertex)) {
+                    edgeCursor[vertex] = i + 1;
+                    int to = forward.getEdgeTarget(vertex, i);
+                    if (color[to] != myColor) continue;
+
+                    if (ids[to] == -1) {
+                        ids[to] = lowlinks[to] = nextId++;
+                        stack[stackTop++] = to;
+                        onStack[to] = true;
+                        callStack[callTop++] = to;
+                    } else if (onStack[to]) {
+                        lowlinks[vertex] = Math.min(lowlinks[vertex], ids[to]);
+                    }
+                    continue;
+                }
+
+                callTop--;
+                if (ids[vertex] == lowlinks[vertex]) {
+                    int end = stackTop;
+                    while (stack[--stackTop] != vertex) {
+                        onStack[stack[stackTop]] = false;
+                    }
+                    onStack[vertex] = false;
+                    components.add(Arrays.copyOfRange(stack, stackTop, end));
+                }
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    lowlinks[parent] = Math.min(lowlinks[parent], lowlinks[vertex]);
+                }
+            }
+        }
+        for (int v : vertices) {
+            color[v] = DONE;
+        }
+    }
+}
@@ -1,30 +1,42 @@
 package kz.edu.daa.graph.scc;
 
-import kz.edu.daa.graph.model.Edge;
-import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.metrics.Counter;
 import kz.edu.daa.graph.metrics.Metrics;
 
 import java.util.*;
 
 public class TarjanSCC {
-    private final Graph graph;
+    private final AdjacencyGraph graph;
     private final Metrics metrics;
+    private final Counter dfsVisits;
+    private final Counter edgesExplored;
+    private final Counter sccsFound;
     private final List<List<Integer>> sccs;
-    private final Stack<Integer> stack;
+    private final int[] stack;
+    private final int[] callStack;
+    private final int[] edgeCursor;
     private final int[] ids;
     private final int[] lowlinks;
     private final boolean[] onStack;
     private int id;
+    private int stackTop;
 
-    public TarjanSCC(Graph graph, Metrics metrics) {
+    public TarjanSCC(AdjacencyGraph graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
+        this.dfsVisits = metrics.counter("DFS visits");
+        this.edgesExplored = metrics.counter("Edges explored");
+        this.sccsFound = metrics.counter("SCCs found");
         this.sccs = new ArrayList<>();
-        this.stack = new Stack<>();
+        this.stack = new int[graph.getNumVertices()];
+        this.callStack = new int[graph.getNumVertices()];
+        this.edgeCursor = new int[graph.getNumVertices()];
         this.ids = new int[graph.getNumVertices()];
         this.lowlinks = new int[graph.getNumVertices()];
         this.onStack = new boolean[graph.getNumVertices()];
         this.id = 0;
+        this.stackTop = 0;
 
         Arrays.fill(ids, -1);
     }
@@ -44,39 +56,58 @@ public class TarjanSCC {
         return sccs;
     }
 
-    private void dfs(int vertex) {
-        metrics.incrementOperations("DFS visits");
-
-        ids[vertex] = lowlinks[vertex] = id++;
-        stack.push(vertex);
-        onStack[vertex] = true;
-
-        List<Edge> edges = graph.getEdges(vertex);
-        for (Edge edge : edges) {
-            metrics.incrementOperations("Edges explored");
-            int to = edge.getTo();
-
-            if (ids[to] == -1) {
-                dfs(to);
-                lowlinks[vertex] = Math.min(lowlinks[vertex], lowlinks[to]);
-            } else if (onStack[to]) {
-                lowlinks[vertex] = Math.min(lowlinks[vertex], ids[to]);
+    // Explicit-stack DFS: callStack holds the active path, edgeCursor[v] the next out-edge of v to explore
+    private void dfs(int root) {
+        int callTop = 0;
+        visit(root);
+        callStack[callTop++] = root;
+
+        while (callTop > 0) {
+            int vertex = callStack[callTop - 1];
+            int i = edgeCursor[vertex];
+
+            if (i < graph.getOutDegree(vertex)) {
+                edgeCursor[vertex] = i + 1;
+                edgesExplored.increment();
+                int to = graph.getEdgeTarget(vertex, i);
+
+                if (ids[to] == -1) {
+                    visit(to);
+                    callStack[callTop++] = to;
+                } else if (onStack[to]) {
+                    lowlinks[vertex] = Math.min(lowlinks[vertex], ids[to]);
+                }
+                continue;
             }
-        }
 
-        if (ids[vertex] == lowlinks[vertex]) {
-            List<Integer> scc = new ArrayList<>();
-            while (true) {
-                int v = stack.pop();
-                onStack[v] = false;
-                scc.add(v);
-                if (v == vertex) break;
+            // All edges explored: "return" from vertex
+            callTop--;
+            if (ids[vertex] == lowlinks[vertex]) {
+                List<Integer> scc = new ArrayList<>();
+                while (true) {
+                    int v = stack[--stackTop];
+                    onStack[v] = false;
+                    scc.add(v);
+                    if (v == vertex) break;
+                }
+                sccs.add(scc);
+                sccsFound.increment();
+            }
+            if (callTop > 0) {
+                int parent = callStack[callTop - 1];
+                lowlinks[parent] = Math.min(lowlinks[parent], lowlinks[vertex]);
             }
-            sccs.add(scc);
-            metrics.incrementOperations("SCCs found");
         }
     }
 
+    private void visit(int vertex) {
+        dfsVisits.increment();
+
+        ids[vertex] = lowlinks[vertex] = id++;
+        stack[stackTop++] = vertex;
+        onStack[vertex] = true;
+    }
+
     public List<List<Integer>> getSCCs() {
         return sccs;
     }
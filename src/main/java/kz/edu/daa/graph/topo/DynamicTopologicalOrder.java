@@ -0,0 +1,324 @@
+package kz.edu.daa.graph.topo;
+
+import kz.edu.daa.graph.metrics.Counter;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+
+import java.util.Arrays;
+
+/**
+ * Topological order of a DAG kept valid under edge insertions (Pearce-Kelly).
+ *
+ * Inserting u -> v when u already precedes v changes nothing. Otherwise the affected
+ * region is the positions between v and u: a forward search from v over vertices
+ * positioned before u, and a backward search from u over vertices positioned after v.
+ * If the forward search reaches u the edge would close a cycle and is rejected.
+ * Else the backward set is moved ahead of the forward set, reusing exactly the
+ * positions both sets occupied, so every vertex outside the region keeps its position
+ * and the cost depends only on the region, not on the graph size.
+ *
+ * The class owns its edges (out- and in-adjacency in growable int arrays) and is itself
+ * an AdjacencyGraph, so path algorithms can run on it directly.
+ */
+public class DynamicTopologicalOrder implements AdjacencyGraph {
+    private final int numVertices;
+    private final int[] order;    // position -> vertex
+    private final int[] position; // vertex -> position
+    private final Metrics metrics;
+    private final Counter insertions;
+    private final Counter reorders;
+    private final Counter verticesVisited;
+
+    private final int[][] outTargets;
+    private final int[][] outWeights;
+    private final int[] outDegree;
+    private final int[][] inSources;
+    private final int[][] inEdgeIndex; // in-edge j of v is out-edge inEdgeIndex[v][j] of inSources[v][j]
+    private final int[] inDegree;
+    private int numEdges;
+
+    // Search scratch space: marks are cleared after every insertion
+    private final boolean[] visited;
+    private int[] stack;
+    private int[] forward;
+    private int[] backward;
+    private int forwardSize;
+    private int backwardSize;
+
+    /**
+     * Copies the DAG's edges and orders it with Kahn's algorithm;
+     * throws IllegalArgumentException if it has a cycle.
+     */
+    public DynamicTopologicalOrder(AdjacencyGraph dag, Metrics metrics) {
+        this.numVertices = dag.getNumVertices();
+        this.order = TopologicalOrder.of(dag, metrics).toArray();
+        this.position = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            position[order[i]] = i;
+        }
+        this.metrics = metrics;
+        this.insertions = metrics.counter("Order insertions");
+        this.reorders = metrics.counter("Order repairs");
+        this.verticesVisited = metrics.counter("Order vertices visited");
+
+        this.outTargets = new int[numVertices][];
+        this.outWeights = new int[numVertices][];
+        this.outDegree = new int[numVertices];
+        this.inSources = new int[numVertices][];
+        this.inEdgeIndex = new int[numVertices][];
+        this.inDegree = new int[numVertices];
+        for (int u = 0; u < numVertices; u++) {
+            int degree = dag.getOutDegree(u);
+            outTargets[u] = new int[degree];
+            outWeights[u] = new int[degree];
+            for (int i = 0; i < degree; i++) {
+                int v = dag.getEdgeTarget(u, i);
+                outTargets[u][i] = v;
+                outWeights[u][i] = dag.getEdgeWeight(u, i);
+                inDegree[v]++;
+            }
+            outDegree[u] = degree;
+            numEdges += degree;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            inSources[v] = new int[inDegree[v]];
+            inEdgeIndex[v] = new int[inDegree[v]];
+            inDegree[v] = 0;
+        }
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = 0; i < outDegree[u]; i++) {
+                int v = outTargets[u][i];
+                inSources[v][inDegree[v]] = u;
+                inEdgeIndex[v][inDegree[v]++] = i;
+            }
+        }
+
+        this.visited = new boolean[numVertices];
+        this.stack = new int[16];
+        this.forward = new int[16];
+        this.backward = new int[16];
+    }
+
+    /**
+     * Inserts u -> v and repairs the order. Returns true if any vertex moved.
+     * Throws IllegalArgumentException, leaving the graph unchanged, if the edge would close a cycle.
+     */
+    public boolean addEdge(int u, int v, int weight) {
+        if (u < 0 || u >= numVertices || v < 0 || v >= numVertices) {
+            throw new IllegalArgumentException("Invalid vertex: " + u + " or " + v);
+        }
+        if (u == v) {
+            throw new IllegalArgumentException("Self-loop " + u + " -> " + v + " would create a cycle");
+        }
+        long startTime = System.nanoTime();
+        boolean moved = false;
+        int lower = position[v];
+        int upper = position[u];
+        if (lower < upper) {
+            if (!searchForward(v, upper)) {
+                clearMarks();
+                throw new IllegalArgumentException("Edge " + u + " -> " + v + " would create a cycle");
+            }
+            searchBackward(u, lower);
+            reorder();
+            clearMarks();
+            reorders.increment();
+            moved = true;
+        }
+        append(u, v, weight);
+        insertions.increment();
+        metrics.addTime("Dynamic topological order", System.nanoTime() - startTime);
+        return moved;
+    }
+
+    /** True if u -> v can be inserted without closing a cycle; the structure is unchanged. */
+    public boolean canAddEdge(int u, int v) {
+        if (u == v) {
+            return false;
+        }
+        if (position[v] > position[u]) {
+            return true;
+        }
+        boolean acyclic = searchForward(v, position[u]);
+        clearMarks();
+        return acyclic;
+    }
+
+    // Collects vertices reachable from v positioned before upper; false if it reaches that position
+    private boolean searchForward(int v, int upper) {
+        forwardSize = 0;
+        int top = 0;
+        visited[v] = true;
+        stack = push(stack, top++, v);
+        while (top > 0) {
+            int w = stack[--top];
+            forward = push(forward, forwardSize++, w);
+            for (int i = 0; i < outDegree[w]; i++) {
+                int x = outTargets[w][i];
+                if (position[x] == upper) {
+                    for (int j = 0; j < top; j++) {
+                        forward = push(forward, forwardSize++, stack[j]); // still marked
+                    }
+                    return false;
+                }
+                if (!visited[x] && position[x] < upper) {
+                    visited[x] = true;
+                    stack = push(stack, top++, x);
+                }
+            }
+        }
+        verticesVisited.add(forwardSize);
+        return true;
+    }
+
+    // Collects vertices that reach u positioned after lower
+    private void searchBackward(int u, int lower) {
+        backwardSize = 0;
+        int top = 0;
+        visited[u] = true;
+        stack = push(stack, top++, u);
+        while (top > 0) {
+            int w = stack[--top];
+            backward = push(backward, backwardSize++, w);
+            for (int i = 0; i < inDegree[w]; i++) {
+                int x = inSources[w][i];
+                if (!visited[x] && position[x] > lower) {
+                    visited[x] = true;
+                    stack = push(stack, top++, x);
+                }
+            }
+        }
+        verticesVisited.add(backwardSize);
+    }
+
+    // Backward set first, then forward set, each in its old relative order, in the pooled positions
+    private void reorder() {
+        sortByPosition(backward, backwardSize);
+        sortByPosition(forward, forwardSize);
+        int total = backwardSize + forwardSize;
+        int[] slots = new int[total];
+        for (int i = 0; i < backwardSize; i++) {
+            slots[i] = position[backward[i]];
+        }
+        for (int i = 0; i < forwardSize; i++) {
+            slots[backwardSize + i] = position[forward[i]];
+        }
+        Arrays.sort(slots);
+        for (int i = 0; i < total; i++) {
+            int vertex = i < backwardSize ? backward[i] : forward[i - backwardSize];
+            position[vertex] = slots[i];
+            order[slots[i]] = vertex;
+        }
+    }
+
+    private void sortByPosition(int[] vertices, int size) {
+        long[] keyed = new long[size];
+        for (int i = 0; i < size; i++) {
+            keyed[i] = ((long) position[vertices[i]] << 32) | vertices[i];
+        }
+        Arrays.sort(keyed);
+        for (int i = 0; i < size; i++) {
+            vertices[i] = (int) keyed[i];
+        }
+    }
+
+    private void clearMarks() {
+        for (int i = 0; i < forwardSize; i++) {
+            visited[forward[i]] = false;
+        }
+        for (int i = 0; i < backwardSize; i++) {
+            visited[backward[i]] = false;
+        }
+        forwardSize = 0;
+        backwardSize = 0;
+    }
+
+    private void append(int u, int v, int weight) {
+        if (outDegree[u] == outTargets[u].length) {
+            int capacity = Math.max(4, outDegree[u] * 2);
+            outTargets[u] = Arrays.copyOf(outTargets[u], capacity);
+            outWeights[u] = Arrays.copyOf(outWeights[u], capacity);
+        }
+        if (inDegree[v] == inSources[v].length) {
+            int capacity = Math.max(4, inDegree[v] * 2);
+            inSources[v] = Arrays.copyOf(inSources[v], capacity);
+            inEdgeIndex[v] = Arrays.copyOf(inEdgeIndex[v], capacity);
+        }
+        inSources[v][inDegree[v]] = u;
+        inEdgeIndex[v][inDegree[v]++] = outDegree[u];
+        outTargets[u][outDegree[u]] = v;
+        outWeights[u][outDegree[u]++] = weight;
+        numEdges++;
+    }
+
+    private static int[] push(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+
+    public int positionOf(int vertex) {
+        return position[vertex];
+    }
+
+    public int vertexAt(int index) {
+        return order[index];
+    }
+
+    /** Immutable copy of the current order, e.g. for DAGShortestPath. */
+    public TopologicalOrder snapshot() {
+        return TopologicalOrder.fromArray(order);
+    }
+
+    public int getInDegree(int vertex) {
+        return inDegree[vertex];
+    }
+
+    public int getInEdgeSource(int vertex, int index) {
+        return inSources[vertex][index];
+    }
+
+    public int getInEdgeWeight(int vertex, int index) {
+        return outWeights[inSources[vertex][index]][inEdgeIndex[vertex][index]];
+    }
+
+    /** Changes the weight of out-edge index of the vertex; the order does not depend on weights. */
+    public void setEdgeWeight(int vertex, int index, int weight) {
+        if (index < 0 || index >= outDegree[vertex]) {
+            throw new IllegalArgumentException("Vertex " + vertex + " has no out-edge " + index);
+        }
+        outWeights[vertex][index] = weight;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return numEdges;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return true;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return outDegree[vertex];
+    }
+
+    @Override
+    public int getEdgeTarget(int vertex, int index) {
+        return outTargets[vertex][index];
+    }
+
+    @Override
+    public int getEdgeWeight(int vertex, int index) {
+        return outWeights[vertex][index];
+    }
+}
@@ -1,19 +1,28 @@
 package kz.edu.daa.graph.topo;
 
-import kz.edu.daa.graph.model.Edge;
-import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.metrics.Counter;
 import kz.edu.daa.graph.metrics.Metrics;
 
 import java.util.*;
 
 public class KahnAlgorithm {
-    private final Graph graph;
+    private final AdjacencyGraph graph;
     private final Metrics metrics;
+    private final Counter inDegreeCalculations;
+    private final Counter queueInsertions;
+    private final Counter queueRemovals;
+    private final Counter edgeRelaxations;
     private List<Integer> topologicalOrder;
+    private TopologicalSortResult result;
 
-    public KahnAlgorithm(Graph graph, Metrics metrics) {
+    public KahnAlgorithm(AdjacencyGraph graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
+        this.inDegreeCalculations = metrics.counter("In-degree calculations");
+        this.queueInsertions = metrics.counter("Queue insertions");
+        this.queueRemovals = metrics.counter("Queue removals");
+        this.edgeRelaxations = metrics.counter("Edge relaxations");
         this.topologicalOrder = new ArrayList<>();
     }
 
@@ -24,50 +33,111 @@ public class KahnAlgorithm {
         // Calculate in-degrees for all vertices
         int[] inDegree = new int[graph.getNumVertices()];
         for (int u = 0; u < graph.getNumVertices(); u++) {
-            for (Edge edge : graph.getEdges(u)) {
-                inDegree[edge.getTo()]++;
-                metrics.incrementOperations("In-degree calculations");
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                inDegree[graph.getEdgeTarget(u, i)]++;
+                inDegreeCalculations.increment();
             }
         }
 
-        // Queue of vertices with in-degree 0
-        Queue<Integer> queue = new LinkedList<>();
+        // Queue of vertices with in-degree 0; each vertex enters at most once,
+        // so a plain int array with head/tail cursors is enough
+        int[] queue = new int[graph.getNumVertices()];
+        int head = 0, tail = 0;
         for (int i = 0; i < graph.getNumVertices(); i++) {
             if (inDegree[i] == 0) {
-                queue.offer(i);
-                metrics.incrementOperations("Queue insertions");
+                queue[tail++] = i;
+                queueInsertions.increment();
             }
         }
 
         // Process vertices with in-degree 0
-        while (!queue.isEmpty()) {
-            int u = queue.poll();
-            metrics.incrementOperations("Queue removals");
-            topologicalOrder.add(u);
+        while (head < tail) {
+            int u = queue[head++];
+            queueRemovals.increment();
 
-            for (Edge edge : graph.getEdges(u)) {
-                int v = edge.getTo();
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = graph.getEdgeTarget(u, i);
                 inDegree[v]--;
-                metrics.incrementOperations("Edge relaxations");
+                edgeRelaxations.increment();
 
                 if (inDegree[v] == 0) {
-                    queue.offer(v);
-                    metrics.incrementOperations("Queue insertions");
+                    queue[tail++] = v;
+                    queueInsertions.increment();
                 }
             }
         }
 
-        // Check for cycles
-        if (topologicalOrder.size() != graph.getNumVertices()) {
-            System.err.println("WARNING: Graph contains a cycle!");
+        // The dequeue sequence is the topological order
+        for (int i = 0; i < tail; i++) {
+            topologicalOrder.add(queue[i]);
         }
 
+        // Vertices left with positive in-degree lie on or behind a cycle
+        boolean isDAG = tail == graph.getNumVertices();
+        List<Integer> cycle = isDAG ? Collections.emptyList() : findCycle(inDegree);
+        result = new TopologicalSortResult(new ArrayList<>(topologicalOrder), isDAG, cycle);
+
         long endTime = System.nanoTime();
         metrics.addTime("Kahn Topological Sort", endTime - startTime);
 
         return topologicalOrder;
     }
 
+    /**
+     * Sorts and returns the structured result, including a witness cycle if the graph is not a DAG.
+     */
+    public TopologicalSortResult sortWithResult() {
+        sort();
+        return result;
+    }
+
+    public TopologicalSortResult getResult() {
+        return result;
+    }
+
+    /*
+     * Every residual vertex has a residual predecessor, so the residual subgraph contains a
+     * cycle. A DFS restricted to it finds one at the first back edge; the rest of the graph
+     * is never touched.
+     */
+    private List<Integer> findCycle(int[] residualInDegree) {
+        int n = graph.getNumVertices();
+        byte[] state = new byte[n]; // 0 = unvisited, 1 = on DFS path, 2 = finished
+        int[] path = new int[n];
+        int[] edgeCursor = new int[n];
+
+        for (int root = 0; root < n; root++) {
+            if (residualInDegree[root] == 0 || state[root] != 0) continue;
+
+            int top = 0;
+            path[top++] = root;
+            state[root] = 1;
+            while (top > 0) {
+                int u = path[top - 1];
+                if (edgeCursor[u] == graph.getOutDegree(u)) {
+                    state[u] = 2;
+                    top--;
+                    continue;
+                }
+                int v = graph.getEdgeTarget(u, edgeCursor[u]++);
+                if (residualInDegree[v] == 0 || state[v] == 2) continue;
+
+                if (state[v] == 1) {
+                    int start = top - 1;
+                    while (path[start] != v) {
+                        start--;
+                    }
+                    return TopologicalSortResult.toList(path, start, top);
+                }
+                state[v] = 1;
+                path[top++] = v;
+            }
+        }
+        return Collections.emptyList();
+    }
+
     public List<Integer> getTopologicalOrder() {
         return new ArrayList<>(topologicalOrder);
     }
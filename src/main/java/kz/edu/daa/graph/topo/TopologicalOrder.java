@@ -0,0 +1,82 @@
+package kz.edu.daa.graph.topo;
+
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+
+import java.util.List;
+
+/**
+ * Immutable topological order of a DAG, computed once and shared by any number of path
+ * queries. It depends only on the edge structure, so it stays valid for every graph with
+ * the same edges, e.g. the MIN and MAX weight variants of one condensation DAG.
+ */
+public final class TopologicalOrder {
+    private final int[] order;
+    private final int[] position;
+
+    // A vertex missing from the order would never be visited, so anything but a
+    // permutation of 0..n-1 is rejected
+    private TopologicalOrder(int[] order) {
+        int n = order.length;
+        this.order = order;
+        this.position = new int[n];
+        boolean[] seen = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            if (v < 0 || v >= n || seen[v]) {
+                throw new IllegalArgumentException("Not a permutation of 0.." + (n - 1)
+                        + ": vertex " + v + " at index " + i);
+            }
+            seen[v] = true;
+            position[v] = i;
+        }
+    }
+
+    /**
+     * Runs Kahn's algorithm once; throws IllegalArgumentException if the graph has a cycle.
+     */
+    public static TopologicalOrder of(AdjacencyGraph graph, Metrics metrics) {
+        return from(new KahnAlgorithm(graph, metrics).sortWithResult());
+    }
+
+    public static TopologicalOrder from(TopologicalSortResult result) {
+        if (!result.isDAG()) {
+            throw new IllegalArgumentException("Graph is not a DAG, cycle: " + result.getCycle());
+        }
+        List<Integer> vertices = result.getOrder();
+        int[] order = new int[vertices.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = vertices.get(i);
+        }
+        return new TopologicalOrder(order);
+    }
+
+    /**
+     * Wraps an order computed elsewhere (e.g. by ParallelKahn); the array is copied.
+     * Throws IllegalArgumentException if it is not a permutation of 0..n-1.
+     */
+    public static TopologicalOrder fromArray(int[] order) {
+        return new TopologicalOrder(order.clone());
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    public int vertexAt(int index) {
+        return order[index];
+    }
+
+    public int positionOf(int vertex) {
+        return position[vertex];
+    }
+
+    public int[] toArray() {
+        return order.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "TopologicalOrder{size=" + order.length + "}";
+    }
+}
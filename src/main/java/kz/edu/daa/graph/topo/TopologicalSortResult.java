@@ -0,0 +1,54 @@
+package kz.edu.daa.graph.topo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a topological sort: the (possibly partial) order, whether the graph is a DAG
+ * and, if it is not, one cycle as a witness.
+ */
+public final class TopologicalSortResult {
+    private final List<Integer> order;
+    private final boolean isDAG;
+    private final List<Integer> cycle;
+
+    TopologicalSortResult(List<Integer> order, boolean isDAG, List<Integer> cycle) {
+        this.order = Collections.unmodifiableList(order);
+        this.isDAG = isDAG;
+        this.cycle = Collections.unmodifiableList(cycle);
+    }
+
+    /**
+     * Topological order; if the graph has a cycle, only the vertices that are not on or behind one.
+     */
+    public List<Integer> getOrder() {
+        return order;
+    }
+
+    public boolean isDAG() {
+        return isDAG;
+    }
+
+    /**
+     * Vertices of one cycle in edge order (the last vertex has an edge back to the first),
+     * or an empty list for a DAG.
+     */
+    public List<Integer> getCycle() {
+        return cycle;
+    }
+
+    @Override
+    public String toString() {
+        return isDAG ? "TopologicalSortResult{DAG, order=" + order + "}"
+                : "TopologicalSortResult{cyclic, cycle=" + cycle + "}";
+    }
+
+    static List<Integer> toList(int[] values, int from, int to) {
+        List<Integer> list = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            list.add(values[i]);
+        }
+        return list;
+    }
+}
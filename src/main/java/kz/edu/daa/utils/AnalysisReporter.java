@@ -2,11 +2,19 @@ package kz.edu.daa.utils;
 
 import kz.edu.daa.graph.dagsp.DAGLongestPath;
 import kz.edu.daa.graph.dagsp.DAGShortestPath;
+import kz.edu.daa.graph.model.AdjacencyGraph;
 import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.metrics.HistogramMetrics;
+import kz.edu.daa.graph.metrics.LatencyHistogram;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.metrics.PhaseHistograms;
 import kz.edu.daa.graph.metrics.SimpleMetrics;
 import kz.edu.daa.graph.scc.CondensationGraph;
+import kz.edu.daa.graph.scc.ParallelEdgePolicy;
 import kz.edu.daa.graph.scc.TarjanSCC;
 import kz.edu.daa.graph.topo.KahnAlgorithm;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import kz.edu.daa.graph.topo.TopologicalSortResult;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -15,9 +23,26 @@ import java.util.*;
 
 public class AnalysisReporter {
     private static final String CSV_FILE = "data/analysis_results.csv";
+    private static final String LATENCY_CSV_FILE = "data/latency_percentiles.csv";
     private static final String REPORT_FILE = "ANALYSIS_REPORT.md";
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private static final String ORIGINAL_DATASET = "data/tasks.json";
+    private static final String[] GENERATED_DATASETS = {
+            "data/generated/dataset_small_cycles.json",
+            "data/generated/dataset_small_dag.json",
+            "data/generated/dataset_small_mixed.json",
+            "data/generated/dataset_medium_sparse.json",
+            "data/generated/dataset_medium_dense.json",
+            "data/generated/dataset_medium_multiple_scc.json",
+            "data/generated/dataset_large_sparse.json",
+            "data/generated/dataset_large_dense.json",
+            "data/generated/dataset_large_complex.json"
+    };
 
     private List<DatasetResult> results = new ArrayList<>();
+    private int workers = 1;
+    private final PhaseHistograms latencies = new PhaseHistograms(); // one sample per dataset and phase
 
     public static class DatasetResult {
         public String name;
@@ -25,7 +50,7 @@ public class AnalysisReporter {
         public int edges;
         public boolean isDAG;
         public int sccCount;
-        public long tarjanTime;
+        public long tarjanTime; // phase times in nanoseconds; reported as fractional ms
         public long kahnTime;
         public long dagSpTime;
         public long dagLpTime;
@@ -35,9 +60,9 @@ public class AnalysisReporter {
 
         @Override
         public String toString() {
-            return String.format("%s,%d,%d,%s,%d,%d,%d,%d,%d,%d,%d,%d",
+            return String.format(Locale.ROOT, "%s,%d,%d,%s,%d,%.4f,%.4f,%.4f,%.4f,%d,%d,%d",
                     name, vertices, edges, isDAG ? "DAG" : "Cyclic", sccCount,
-                    tarjanTime, kahnTime, dagSpTime, dagLpTime,
+                    toMs(tarjanTime), toMs(kahnTime), toMs(dagSpTime), toMs(dagLpTime),
                     dfsVisits, edgesExplored, criticalPath);
         }
     }
@@ -45,107 +70,121 @@ public class AnalysisReporter {
     public void analyzeAllDatasets() throws IOException {
         System.out.println("Starting comprehensive analysis...\n");
 
-        // Analyze original dataset
-        System.out.println(">>> Analyzing original dataset (tasks.json)");
-        analyzeDataset("data/tasks.json", "original_tasks");
-
-        // Analyze generated datasets
-        System.out.println("\n>>> Analyzing generated datasets");
-        String[] datasets = {
-                "data/generated/dataset_small_cycles.json",
-                "data/generated/dataset_small_dag.json",
-                "data/generated/dataset_small_mixed.json",
-                "data/generated/dataset_medium_sparse.json",
-                "data/generated/dataset_medium_dense.json",
-                "data/generated/dataset_medium_multiple_scc.json",
-                "data/generated/dataset_large_sparse.json",
-                "data/generated/dataset_large_dense.json",
-                "data/generated/dataset_large_complex.json"
-        };
-
-        for (String dataset : datasets) {
-            String name = Paths.get(dataset).getFileName().toString()
-                    .replace(".json", "");
-            analyzeDataset(dataset, name);
+        List<String> datasets = new ArrayList<>();
+        datasets.add(ORIGINAL_DATASET);
+        datasets.addAll(Arrays.asList(GENERATED_DATASETS));
+
+        // Files load on the I/O stage, analysis runs on the workers; results come back in list order
+        BatchRunner runner = BatchRunner.fromSystemProperties();
+        workers = runner.getWorkers();
+        System.out.printf(">>> Analyzing %d datasets (%d workers)\n", datasets.size(), workers);
+        try {
+            for (BatchRunner.Outcome<DatasetResult> outcome : runner.run(datasets, GraphLoader::load,
+                    this::analyzeDataset, outcome -> {
+                        System.out.print(outcome.getOutput());
+                        if (!outcome.isSuccess()) {
+                            System.err.println("  ✗ Error: " + outcome.getError().getMessage());
+                        }
+                    })) {
+                if (outcome.isSuccess()) {
+                    results.add(outcome.getResult());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         }
 
         // Write results
         writeCSV();
+        writeLatencyCSV();
         generateReport();
 
         System.out.println("\n✓ Analysis complete!");
         System.out.println("  - CSV: " + CSV_FILE);
+        System.out.println("  - Latency CSV: " + LATENCY_CSV_FILE);
         System.out.println("  - Report: " + REPORT_FILE);
     }
 
-    private void analyzeDataset(String filePath, String name) throws IOException {
-        try {
-            Graph graph = GraphLoader.loadFromJson(filePath);
-            SimpleMetrics metrics = new SimpleMetrics();
-
-            System.out.printf("  Processing: %s (%d vertices, %d edges)\n",
-                    name, graph.getNumVertices(), graph.getNumEdges());
-
-            // Tarjan SCC
-            TarjanSCC tarjan = new TarjanSCC(graph, metrics);
-            long t1 = System.nanoTime();
-            List<List<Integer>> sccs = tarjan.findSCCs();
-            long t1End = System.nanoTime();
-
-            // Condensation graph
-            CondensationGraph condensation = new CondensationGraph(graph, sccs);
-            Graph condDAG = condensation.getCondensationDAG();
-
-            // Kahn topological sort
-            SimpleMetrics metricsKahn = new SimpleMetrics();
-            KahnAlgorithm kahn = new KahnAlgorithm(condDAG, metricsKahn);
-            long t2 = System.nanoTime();
-            List<Integer> topoOrder = kahn.sort();
-            long t2End = System.nanoTime();
-
-            boolean isDAG = kahn.isValidDAG();
-
-            // DAG Shortest Path
-            SimpleMetrics metricsSP = new SimpleMetrics();
-            int source = GraphLoader.getSource(filePath);
-            int sourceSCC = condensation.getSCCOfVertex(source);
-
-            DAGShortestPath sp = new DAGShortestPath(condDAG, sourceSCC, metricsSP);
-            long t3 = System.nanoTime();
-            sp.computeShortestPaths();
-            long t3End = System.nanoTime();
-
-            // DAG Longest Path
-            SimpleMetrics metricsLP = new SimpleMetrics();
-            DAGLongestPath lp = new DAGLongestPath(condDAG, sourceSCC, metricsLP);
-            long t4 = System.nanoTime();
-            lp.computeLongestPaths();
-            long t4End = System.nanoTime();
-            long criticalPath = lp.getCriticalPathLength();
-
-            // Collect result
-            DatasetResult result = new DatasetResult();
-            result.name = name;
-            result.vertices = graph.getNumVertices();
-            result.edges = graph.getNumEdges();
-            result.isDAG = isDAG;
-            result.sccCount = sccs.size();
-            result.tarjanTime = (t1End - t1) / 1_000_000; // Convert to ms
-            result.kahnTime = (t2End - t2) / 1_000_000;
-            result.dagSpTime = (t3End - t3) / 1_000_000;
-            result.dagLpTime = (t4End - t4) / 1_000_000;
-            result.dfsVisits = metrics.getOperationCount("DFS visits");
-            result.edgesExplored = metrics.getOperationCount("Edges explored");
-            result.criticalPath = criticalPath;
-
-            results.add(result);
-
-            System.out.printf("    ✓ SCC: %d, Time: %.3f ms\n",
-                    sccs.size(), result.tarjanTime / 1000.0);
-
-        } catch (Exception e) {
-            System.err.println("  ✗ Error: " + e.getMessage());
+    private static String datasetName(String filePath) {
+        if (filePath.equals(ORIGINAL_DATASET)) {
+            return "original_tasks";
         }
+        return Paths.get(filePath).getFileName().toString().replace(".json", "");
+    }
+
+    // Runs on a batch worker: results go to thread-safe latencies (through HistogramMetrics)
+    // and the returned row only
+    private DatasetResult analyzeDataset(String filePath, LoadedGraph loaded, PrintStream out) {
+        String name = datasetName(filePath);
+        AdjacencyGraph graph = loaded.getGraph();
+        // Each phase time the algorithms report also lands in the shared latency histograms
+        Metrics metrics = new HistogramMetrics(new SimpleMetrics(), latencies);
+
+        out.printf("  Processing: %s (%d vertices, %d edges)\n",
+                name, graph.getNumVertices(), graph.getNumEdges());
+
+        // Tarjan SCC
+        TarjanSCC tarjan = new TarjanSCC(graph, metrics);
+        long t1 = System.nanoTime();
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        long t1End = System.nanoTime();
+
+        // Condensation graph
+        long tc = System.nanoTime();
+        CondensationGraph condensation = new CondensationGraph(graph, sccs);
+        Graph condDAG = condensation.getCondensationDAG();
+        long tcEnd = System.nanoTime();
+        metrics.addTime("Condensation", tcEnd - tc);
+
+        // Kahn topological sort
+        Metrics metricsKahn = new HistogramMetrics(new SimpleMetrics(), latencies);
+        KahnAlgorithm kahn = new KahnAlgorithm(condDAG, metricsKahn);
+        long t2 = System.nanoTime();
+        TopologicalSortResult topoResult = kahn.sortWithResult();
+        long t2End = System.nanoTime();
+
+        boolean isDAG = topoResult.isDAG();
+        TopologicalOrder topoOrder = TopologicalOrder.from(topoResult); // shared by SP and LP
+
+        // DAG Shortest Path
+        Metrics metricsSP = new HistogramMetrics(new SimpleMetrics(), latencies);
+        int source = loaded.getSource();
+        int sourceSCC = condensation.getSCCOfVertex(source);
+
+        DAGShortestPath sp = new DAGShortestPath(
+                condensation.getCondensationDAG(ParallelEdgePolicy.MIN), topoOrder, sourceSCC, metricsSP);
+        long t3 = System.nanoTime();
+        sp.computeShortestPaths();
+        long t3End = System.nanoTime();
+
+        // DAG Longest Path
+        Metrics metricsLP = new HistogramMetrics(new SimpleMetrics(), latencies);
+        DAGLongestPath lp = new DAGLongestPath(
+                condensation.getCondensationDAG(ParallelEdgePolicy.MAX), topoOrder, sourceSCC, metricsLP);
+        long t4 = System.nanoTime();
+        lp.computeLongestPaths();
+        long t4End = System.nanoTime();
+        long criticalPath = lp.getCriticalPathLength();
+
+        // Collect result
+        DatasetResult result = new DatasetResult();
+        result.name = name;
+        result.vertices = graph.getNumVertices();
+        result.edges = graph.getNumEdges();
+        result.isDAG = isDAG;
+        result.sccCount = sccs.size();
+        result.tarjanTime = t1End - t1;
+        result.kahnTime = t2End - t2;
+        result.dagSpTime = t3End - t3;
+        result.dagLpTime = t4End - t4;
+        result.dfsVisits = metrics.getOperationCount("DFS visits");
+        result.edgesExplored = metrics.getOperationCount("Edges explored");
+        result.criticalPath = criticalPath;
+
+        out.printf("    ✓ SCC: %d, Time: %.3f ms\n",
+                sccs.size(), toMs(result.tarjanTime));
+        return result;
     }
 
     private void writeCSV() throws IOException {
@@ -161,6 +200,26 @@ public class AnalysisReporter {
         }
     }
 
+    private void writeLatencyCSV() throws IOException {
+        try (FileWriter writer = new FileWriter(LATENCY_CSV_FILE)) {
+            writer.write("Phase,Samples,p50(ms),p90(ms),p99(ms),Max(ms)\n");
+            for (String phase : latencies.getPhases()) {
+                LatencyHistogram h = latencies.histogram(phase);
+                writer.write(String.format(Locale.ROOT, "%s,%d,%.4f,%.4f,%.4f,%.4f\n",
+                        phase, h.getCount(), percentileMs(h, PERCENTILES[0]), percentileMs(h, PERCENTILES[1]),
+                        percentileMs(h, PERCENTILES[2]), toMs(h.getMax())));
+            }
+        }
+    }
+
+    private static double percentileMs(LatencyHistogram histogram, double percentile) {
+        return toMs(histogram.getValueAtPercentile(percentile));
+    }
+
+    private static double toMs(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
     private void generateReport() throws IOException {
         StringBuilder report = new StringBuilder();
 
@@ -194,6 +253,9 @@ public class AnalysisReporter {
 
         // Performance Results
         report.append("## Performance Results (Time in ms)\n\n");
+        report.append(String.format("Single cold run per dataset, %d dataset(s) in parallel", workers));
+        report.append(workers > 1 ? " (times include contention)" : "");
+        report.append("; see the JMH benchmarks (`mvn -Pjmh package`) for steady-state numbers.\n\n");
         report.append("| Dataset | Tarjan | Kahn | DAG-SP | DAG-LP | Total |\n");
         report.append("|---------|--------|------|--------|--------|-------|\n");
 
@@ -201,16 +263,29 @@ public class AnalysisReporter {
         for (DatasetResult r : results) {
             long total = r.tarjanTime + r.kahnTime + r.dagSpTime + r.dagLpTime;
             report.append(String.format("| %s | %.4f | %.4f | %.4f | %.4f | %.4f |\n",
-                    r.name, r.tarjanTime / 1000.0, r.kahnTime / 1000.0,
-                    r.dagSpTime / 1000.0, r.dagLpTime / 1000.0, total / 1000.0));
+                    r.name, toMs(r.tarjanTime), toMs(r.kahnTime),
+                    toMs(r.dagSpTime), toMs(r.dagLpTime), toMs(total)));
             totalTarjan += r.tarjanTime;
             totalKahn += r.kahnTime;
             totalSP += r.dagSpTime;
             totalLP += r.dagLpTime;
         }
         report.append(String.format("| **Total** | **%.4f** | **%.4f** | **%.4f** | **%.4f** | **%.4f** |\n",
-                totalTarjan / 1000.0, totalKahn / 1000.0, totalSP / 1000.0,
-                totalLP / 1000.0, (totalTarjan + totalKahn + totalSP + totalLP) / 1000.0));
+                toMs(totalTarjan), toMs(totalKahn), toMs(totalSP),
+                toMs(totalLP), toMs(totalTarjan + totalKahn + totalSP + totalLP)));
+        report.append("\n");
+
+        // Latency distribution across datasets
+        report.append("## Latency Percentiles (Time in ms)\n\n");
+        report.append("| Phase | Samples | p50 | p90 | p99 | Max |\n");
+        report.append("|-------|---------|-----|-----|-----|-----|\n");
+
+        for (String phase : latencies.getPhases()) {
+            LatencyHistogram h = latencies.histogram(phase);
+            report.append(String.format(Locale.ROOT, "| %s | %d | %.4f | %.4f | %.4f | %.4f |\n",
+                    phase, h.getCount(), percentileMs(h, PERCENTILES[0]), percentileMs(h, PERCENTILES[1]),
+                    percentileMs(h, PERCENTILES[2]), toMs(h.getMax())));
+        }
         report.append("\n");
 
         // Operations Count
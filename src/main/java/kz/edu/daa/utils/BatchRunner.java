@@ -0,0 +1,327 @@
+package kz.edu.daa.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs one independent task per dataset file on a fixed number of worker threads.
+ *
+ * Each task prints into its own buffer and returns a result; outcomes are delivered in
+ * input order as soon as every earlier file has finished, so output is deterministic
+ * and never interleaved. A fair semaphore bounds the estimated heap in use: a task
+ * reserves MEMORY_PER_INPUT_BYTE times its file size (capped at the limit, so an
+ * oversized file simply runs alone) before it starts.
+ *
+ * Loading can run as a separate I/O stage feeding the workers through a bounded queue;
+ * see the Loader/Processor overload of run.
+ *
+ * Workers and limit come from -Ddaa.workers (default: available processors) and
+ * -Ddaa.memoryMb (default: three quarters of the max heap); concurrent loads from
+ * -Ddaa.ioConcurrency (default 64).
+ */
+public class BatchRunner {
+    public static final String WORKERS_PROPERTY = "daa.workers";
+    public static final String MEMORY_PROPERTY = "daa.memoryMb";
+    public static final String IO_CONCURRENCY_PROPERTY = "daa.ioConcurrency";
+    private static final int DEFAULT_IO_CONCURRENCY = 64;
+
+    // Rough heap per byte of input: parse buffers, graph, SCC and condensation arrays
+    private static final long MEMORY_PER_INPUT_BYTE = 4;
+    private static final long KB = 1024;
+
+    private final int workers;
+    private final long memoryLimitBytes;
+    private final int ioConcurrency;
+    private final int queueCapacity;
+
+    public interface Task<T> {
+        T run(String filePath, PrintStream out) throws Exception;
+    }
+
+    /** I/O stage: reads and parses one file. */
+    public interface Loader<L> {
+        L load(String filePath) throws Exception;
+    }
+
+    /** CPU stage: processes a loaded file, printing into its own buffer. */
+    public interface Processor<L, T> {
+        T process(String filePath, L loaded, PrintStream out) throws Exception;
+    }
+
+    public static final class Outcome<T> {
+        private final String filePath;
+        private final T result;
+        private final Exception error;
+        private final String output;
+        private final long elapsedNanos;
+
+        Outcome(String filePath, T result, Exception error, String output, long elapsedNanos) {
+            this.filePath = filePath;
+            this.result = result;
+            this.error = error;
+            this.output = output;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /** Everything the task printed. */
+        public String getOutput() {
+            return output;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    public BatchRunner(int workers, long memoryLimitBytes) {
+        this(workers, memoryLimitBytes, DEFAULT_IO_CONCURRENCY);
+    }
+
+    public BatchRunner(int workers, long memoryLimitBytes, int ioConcurrency) {
+        if (workers < 1 || memoryLimitBytes < KB || ioConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid batch limits: workers=" + workers
+                    + ", memory=" + memoryLimitBytes + ", io=" + ioConcurrency);
+        }
+        this.workers = workers;
+        this.memoryLimitBytes = memoryLimitBytes;
+        this.ioConcurrency = ioConcurrency;
+        this.queueCapacity = 2 * workers;
+    }
+
+    public static BatchRunner fromSystemProperties() {
+        int workers = Integer.getInteger(WORKERS_PROPERTY, Runtime.getRuntime().availableProcessors());
+        long defaultMb = Runtime.getRuntime().maxMemory() / 4 * 3 / (KB * KB);
+        long memoryMb = Long.getLong(MEMORY_PROPERTY, defaultMb);
+        int ioConcurrency = Integer.getInteger(IO_CONCURRENCY_PROPERTY, DEFAULT_IO_CONCURRENCY);
+        return new BatchRunner(workers, memoryMb * KB * KB, ioConcurrency);
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public long getMemoryLimitBytes() {
+        return memoryLimitBytes;
+    }
+
+    public int getIoConcurrency() {
+        return ioConcurrency;
+    }
+
+    public <T> List<Outcome<T>> run(List<String> files, Task<T> task) throws InterruptedException {
+        return run(files, task, outcome -> { });
+    }
+
+    /**
+     * Runs the task for every file and returns outcomes in input order; onComplete sees
+     * each outcome in that order too, as early as possible.
+     */
+    public <T> List<Outcome<T>> run(List<String> files, Task<T> task, Consumer<Outcome<T>> onComplete)
+            throws InterruptedException {
+        return run(files, file -> null, (file, nothing, out) -> task.run(file, out), onComplete);
+    }
+
+    /**
+     * Two-stage run: the I/O stage loads files concurrently (on virtual threads when the
+     * JVM has them) and hands them to the CPU workers through a bounded queue. Loaders
+     * block when the queue is full, and at most ioConcurrency files are being read or
+     * waiting to enqueue, so loading never runs more than a bounded distance ahead of
+     * processing. A file's memory reservation is held from load until its processing ends.
+     */
+    public <L, T> List<Outcome<T>> run(List<String> files, Loader<L> loader, Processor<L, T> processor,
+                                       Consumer<Outcome<T>> onComplete) throws InterruptedException {
+        int limitKb = (int) Math.min(Integer.MAX_VALUE, memoryLimitBytes / KB);
+        Semaphore memory = new Semaphore(limitKb, true);
+        Semaphore loadSlots = new Semaphore(ioConcurrency, true);
+        BlockingQueue<Loaded<L>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        List<CompletableFuture<Outcome<T>>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+
+        ExecutorService io = newIoExecutor();
+        ExecutorService cpu = Executors.newFixedThreadPool(workers);
+        try {
+            for (int w = 0; w < workers; w++) {
+                cpu.execute(() -> process(queue, processor, memory, futures));
+            }
+            AtomicInteger pendingLoads = new AtomicInteger(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                String file = files.get(i);
+                int permits = (int) Math.max(1, Math.min(limitKb, estimateBytes(file) / KB));
+                io.execute(() -> {
+                    try {
+                        load(index, file, permits, loader, memory, loadSlots, queue, futures);
+                    } finally {
+                        if (pendingLoads.decrementAndGet() == 0) {
+                            stopWorkers(queue);
+                        }
+                    }
+                });
+            }
+            if (files.isEmpty()) {
+                stopWorkers(queue);
+            }
+
+            List<Outcome<T>> outcomes = new ArrayList<>(files.size());
+            for (CompletableFuture<Outcome<T>> future : futures) {
+                Outcome<T> outcome;
+                try {
+                    outcome = future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Batch worker failed", e.getCause());
+                }
+                onComplete.accept(outcome);
+                outcomes.add(outcome);
+            }
+            return outcomes;
+        } finally {
+            io.shutdownNow();
+            cpu.shutdownNow();
+        }
+    }
+
+    private <L, T> void load(int index, String file, int permits, Loader<L> loader, Semaphore memory,
+                             Semaphore loadSlots, BlockingQueue<Loaded<L>> queue,
+                             List<CompletableFuture<Outcome<T>>> futures) {
+        boolean reserved = false;
+        try {
+            loadSlots.acquire();
+            try {
+                memory.acquire(permits);
+                reserved = true;
+                long start = System.nanoTime();
+                L loaded = loader.load(file);
+                queue.put(new Loaded<>(index, file, loaded, permits, System.nanoTime() - start));
+                reserved = false; // the worker releases it
+            } finally {
+                loadSlots.release();
+            }
+        } catch (Exception e) {
+            futures.get(index).complete(new Outcome<>(file, null, e, "", 0));
+        } catch (Throwable t) {
+            futures.get(index).completeExceptionally(t);
+        } finally {
+            if (reserved) {
+                memory.release(permits);
+            }
+        }
+    }
+
+    private static <L, T> void process(BlockingQueue<Loaded<L>> queue, Processor<L, T> processor,
+                                       Semaphore memory, List<CompletableFuture<Outcome<T>>> futures) {
+        try {
+            for (Loaded<L> item = queue.take(); item.index >= 0; item = queue.take()) {
+                try {
+                    futures.get(item.index).complete(runOne(item, processor));
+                } catch (Throwable t) {
+                    // An Error escapes runOne; the future must still complete or run() waits forever
+                    futures.get(item.index).completeExceptionally(t);
+                } finally {
+                    memory.release(item.permits);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stopWorkers(BlockingQueue<? extends Loaded<?>> queue) {
+        @SuppressWarnings("unchecked")
+        BlockingQueue<Loaded<?>> sink = (BlockingQueue<Loaded<?>>) queue;
+        try {
+            for (int w = 0; w < workers; w++) {
+                sink.put(Loaded.STOP);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <L, T> Outcome<T> runOne(Loaded<L> item, Processor<L, T> processor) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        T result = null;
+        Exception error = null;
+        try (PrintStream out = new PrintStream(buffer, false, StandardCharsets.UTF_8)) {
+            try {
+                result = processor.process(item.file, item.value, out);
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+        return new Outcome<>(item.file, result, error, buffer.toString(StandardCharsets.UTF_8),
+                item.loadNanos + System.nanoTime() - start);
+    }
+
+    /**
+     * One virtual thread per file on Java 21+, where blocking reads are cheap; a cached
+     * platform pool otherwise. Loads are bounded by ioConcurrency either way.
+     */
+    static ExecutorService newIoExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // A loaded file waiting for a CPU worker; index -1 tells a worker to stop
+    private static final class Loaded<L> {
+        static final Loaded<Object> STOP = new Loaded<>(-1, null, null, 0, 0);
+
+        final int index;
+        final String file;
+        final L value;
+        final int permits;
+        final long loadNanos;
+
+        Loaded(int index, String file, L value, int permits, long loadNanos) {
+            this.index = index;
+            this.file = file;
+            this.value = value;
+            this.permits = permits;
+            this.loadNanos = loadNanos;
+        }
+    }
+
+    private static long estimateBytes(String file) {
+        try {
+            return Files.size(Paths.get(file)) * MEMORY_PER_INPUT_BYTE;
+        } catch (IOException e) {
+            return 0; // the task itself will report the missing file
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package kz.edu.daa.utils;
+
+import kz.edu.daa.graph.model.AdjacencyGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary CSR graph file ("DAAG"), little-endian throughout:
+ *
+ * <pre>
+ *   offset  size  field
+ *        0     4  magic 0x44414147 ("DAAG")
+ *        4     4  version (1)
+ *        8     4  flags (bit 0: directed)
+ *       12     4  n, number of vertices
+ *       16     8  m, number of stored edges
+ *       24     4  source vertex
+ *       28     4  length of the weight model name in bytes (at most 32)
+ *       32    32  weight model name, UTF-8, zero padded
+ *       64  4(n+1) offsets: edges of u are [offsets[u], offsets[u+1])
+ *        .    4m  targets
+ *        .    4m  weights
+ * </pre>
+ *
+ * The header is 64 bytes so all arrays are 4-byte aligned and can be mapped directly
+ * as IntBuffers. Undirected graphs store both directions, like Graph does.
+ */
+public final class GraphBinaryFormat {
+    public static final int MAGIC = 0x44414147;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    public static final String FILE_EXTENSION = ".daag";
+
+    private static final int FLAG_DIRECTED = 1;
+    private static final int MAX_WEIGHT_MODEL_BYTES = 32;
+    // Each array is mapped as one region, and a single mapping is limited to 2 GB
+    private static final long MAX_MAPPED_INTS = Integer.MAX_VALUE / 4;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private GraphBinaryFormat() {
+    }
+
+    public static final class Header {
+        private final int numVertices;
+        private final long numEdges;
+        private final boolean directed;
+        private final int source;
+        private final String weightModel;
+
+        public Header(int numVertices, long numEdges, boolean directed, int source, String weightModel) {
+            if (numEdges > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many edges for int offsets: " + numEdges);
+            }
+            if (weightModel.getBytes(StandardCharsets.UTF_8).length > MAX_WEIGHT_MODEL_BYTES) {
+                throw new IllegalArgumentException("Weight model name longer than "
+                        + MAX_WEIGHT_MODEL_BYTES + " bytes: " + weightModel);
+            }
+            this.numVertices = numVertices;
+            this.numEdges = numEdges;
+            this.directed = directed;
+            this.source = source;
+            this.weightModel = weightModel;
+        }
+
+        public int getNumVertices() {
+            return numVertices;
+        }
+
+        public long getNumEdges() {
+            return numEdges;
+        }
+
+        public boolean isDirected() {
+            return directed;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public String getWeightModel() {
+            return weightModel;
+        }
+
+        /** Byte position of the offsets array. */
+        public long offsetsPosition() {
+            return HEADER_SIZE;
+        }
+
+        public long targetsPosition() {
+            return offsetsPosition() + 4L * (numVertices + 1);
+        }
+
+        public long weightsPosition() {
+            return targetsPosition() + 4L * numEdges;
+        }
+
+        public long fileSize() {
+            return weightsPosition() + 4L * numEdges;
+        }
+    }
+
+    public static ByteBuffer encodeHeader(Header header) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        byte[] weightModel = header.getWeightModel().getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(header.isDirected() ? FLAG_DIRECTED : 0)
+                .putInt(header.getNumVertices())
+                .putLong(header.getNumEdges())
+                .putInt(header.getSource())
+                .putInt(weightModel.length)
+                .put(weightModel);
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Reads the header at the buffer's current position; the buffer's byte order is ignored.
+     * Throws IOException if the magic, version, sizes or source vertex are invalid, or if an
+     * array is too large to map in one region.
+     */
+    public static Header decodeHeader(ByteBuffer source) throws IOException {
+        if (source.remaining() < HEADER_SIZE) {
+            throw new IOException("File too short for a graph header");
+        }
+        ByteBuffer buffer = source.slice().order(BYTE_ORDER);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a binary graph file (bad magic)");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary graph version " + version);
+        }
+        int flags = buffer.getInt();
+        int n = buffer.getInt();
+        long m = buffer.getLong();
+        int sourceVertex = buffer.getInt();
+        int weightModelLength = buffer.getInt();
+        if (n < 0 || m < 0 || m > Integer.MAX_VALUE
+                || weightModelLength < 0 || weightModelLength > MAX_WEIGHT_MODEL_BYTES) {
+            throw new IOException("Corrupt binary graph header");
+        }
+        if (n + 1L > MAX_MAPPED_INTS || m > MAX_MAPPED_INTS) {
+            throw new IOException("Binary graph too large to map: " + n + " vertices, " + m
+                    + " arcs (at most " + MAX_MAPPED_INTS + " ints per array)");
+        }
+        // An empty graph keeps the default source 0
+        if (sourceVertex < 0 || sourceVertex >= Math.max(1, n)) {
+            throw new IOException("Source vertex " + sourceVertex + " outside a graph of " + n + " vertices");
+        }
+        byte[] weightModel = new byte[weightModelLength];
+        buffer.get(weightModel);
+        return new Header(n, m, (flags & FLAG_DIRECTED) != 0, sourceVertex,
+                new String(weightModel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes any graph in this format, streaming each array through a small buffer.
+     * m is the number of stored arcs, so an undirected graph's edges appear twice.
+     */
+    public static void write(AdjacencyGraph graph, int source, String weightModel, Path file) throws IOException {
+        int n = graph.getNumVertices();
+        long m = 0;
+        for (int u = 0; u < n; u++) {
+            m += graph.getOutDegree(u);
+        }
+        Header header = new Header(n, m, graph.isDirected(), source, weightModel);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer headerBytes = encodeHeader(header);
+            while (headerBytes.hasRemaining()) {
+                channel.write(headerBytes);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(BYTE_ORDER);
+
+            int offset = 0;
+            for (int u = 0; u <= n; u++) {
+                put(channel, buffer, offset);
+                if (u < n) {
+                    offset += graph.getOutDegree(u);
+                }
+            }
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    put(channel, buffer, graph.getEdgeTarget(u, i));
+                }
+            }
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    put(channel, buffer, graph.getEdgeWeight(u, i));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -1,41 +1,261 @@
 package kz.edu.daa.utils;
 
-import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
 import kz.edu.daa.graph.model.Graph;
-import java.io.FileReader;
+import kz.edu.daa.graph.model.MappedCSRGraph;
+
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.BiFunction;
 
+/**
+ * Loads graphs from the JSON dataset format with a single streaming pass: edges go
+ * straight from the JsonReader into a graph builder, without building a document tree.
+ * Keys may appear in any order; edges that arrive before "n" and "directed" are
+ * buffered in primitive arrays until both are known.
+ *
+ * Files ending in GraphBinaryFormat.FILE_EXTENSION are memory-mapped instead of parsed.
+ */
 public class GraphLoader {
-    public static Graph loadFromJson(String filePath) throws IOException {
-        JsonElement element = JsonParser.parseReader(new FileReader(filePath));
-        JsonObject jsonObject = element.getAsJsonObject();
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String DEFAULT_WEIGHT_MODEL = "edge";
+
+    /**
+     * Loads the graph as an immutable CSRGraph together with its "source" (0 if absent)
+     * and "weight_model" ("edge" if absent), reading the file once. Binary files are
+     * mapped with loadBinary.
+     */
+    public static LoadedGraph load(String filePath) throws IOException {
+        if (filePath.endsWith(GraphBinaryFormat.FILE_EXTENSION)) {
+            return loadBinary(filePath);
+        }
+        return parse(filePath, (n, directed) -> {
+            CSRGraph.Builder builder = new CSRGraph.Builder(n, directed);
+            return new GraphSink() {
+                @Override
+                public void addEdge(int u, int v, int w) {
+                    builder.addEdge(u, v, w);
+                }
 
-        int n = jsonObject.get("n").getAsInt();
-        boolean directed = jsonObject.get("directed").getAsBoolean();
+                @Override
+                public AdjacencyGraph build() {
+                    return builder.build();
+                }
+            };
+        });
+    }
 
-        Graph graph = new Graph(n, directed);
+    /**
+     * Memory-maps a GraphBinaryFormat file. Only the header and offset endpoints are read
+     * up front; the arrays stay in the page cache and are paged in as algorithms touch them.
+     */
+    public static LoadedGraph loadBinary(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            GraphBinaryFormat.Header header = GraphBinaryFormat.decodeHeader(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), GraphBinaryFormat.HEADER_SIZE)));
+            if (channel.size() != header.fileSize()) {
+                throw new IOException("Binary graph " + filePath + " has " + channel.size()
+                        + " bytes, header expects " + header.fileSize());
+            }
+            int n = header.getNumVertices();
+            long m = header.getNumEdges();
+            IntBuffer offsets = map(channel, header.offsetsPosition(), n + 1L);
+            IntBuffer targets = map(channel, header.targetsPosition(), m);
+            IntBuffer weights = map(channel, header.weightsPosition(), m);
 
-        JsonArray edges = jsonObject.getAsJsonArray("edges");
-        for (JsonElement edgeElement : edges) {
-            JsonObject edge = edgeElement.getAsJsonObject();
-            int u = edge.get("u").getAsInt();
-            int v = edge.get("v").getAsInt();
-            int w = edge.get("w").getAsInt();
-            graph.addEdge(u, v, w);
+            try {
+                MappedCSRGraph graph = new MappedCSRGraph(n, header.isDirected(), offsets, targets, weights);
+                return new LoadedGraph(graph, header.getSource(), header.getWeightModel());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt binary graph " + filePath + ": " + e.getMessage(), e);
+            }
         }
+    }
+
+    // A mapping stays valid after its channel is closed
+    private static IntBuffer map(FileChannel channel, long position, long ints) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, 4 * ints)
+                .order(GraphBinaryFormat.BYTE_ORDER).asIntBuffer();
+    }
 
-        return graph;
+    public static void writeBinary(LoadedGraph loaded, String filePath) throws IOException {
+        GraphBinaryFormat.write(loaded.getGraph(), loaded.getSource(), loaded.getWeightModel(), Path.of(filePath));
+    }
+
+    public static Graph loadFromJson(String filePath) throws IOException {
+        return (Graph) parse(filePath, (n, directed) -> {
+            Graph graph = new Graph(n, directed);
+            return new GraphSink() {
+                @Override
+                public void addEdge(int u, int v, int w) {
+                    graph.addEdge(u, v, w);
+                }
+
+                @Override
+                public AdjacencyGraph build() {
+                    return graph;
+                }
+            };
+        }).getGraph();
     }
 
     public static String getWeightModel(String filePath) throws IOException {
-        JsonElement element = JsonParser.parseReader(new FileReader(filePath));
-        JsonObject jsonObject = element.getAsJsonObject();
-        return jsonObject.get("weight_model").getAsString();
+        return parse(filePath, null).getWeightModel();
     }
 
     public static int getSource(String filePath) throws IOException {
-        JsonElement element = JsonParser.parseReader(new FileReader(filePath));
-        JsonObject jsonObject = element.getAsJsonObject();
-        return jsonObject.get("source").getAsInt();
+        return parse(filePath, null).getSource();
+    }
+
+    private interface GraphSink {
+        void addEdge(int u, int v, int w);
+
+        AdjacencyGraph build();
+    }
+
+    // A null factory reads only the metadata and skips the edge array
+    private static LoadedGraph parse(String filePath,
+                                     BiFunction<Integer, Boolean, GraphSink> sinkFactory) throws IOException {
+        try (JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(
+                Files.newInputStream(Paths.get(filePath)), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            int n = -1;
+            Boolean directed = null;
+            int source = 0;
+            String weightModel = DEFAULT_WEIGHT_MODEL;
+            GraphSink sink = null;
+            EdgeBuffer pending = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "n":
+                        n = reader.nextInt();
+                        break;
+                    case "directed":
+                        directed = reader.nextBoolean();
+                        break;
+                    case "source":
+                        source = reader.nextInt();
+                        break;
+                    case "weight_model":
+                        weightModel = reader.nextString();
+                        break;
+                    case "edges":
+                        if (sinkFactory == null) {
+                            reader.skipValue();
+                            break;
+                        }
+                        if (sink == null && n >= 0 && directed != null) {
+                            sink = sinkFactory.apply(n, directed);
+                        }
+                        if (sink == null && pending == null) {
+                            pending = new EdgeBuffer();
+                        }
+                        readEdges(reader, sink, pending, filePath);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+
+            // Same rule as GraphBinaryFormat: an empty graph keeps the default source 0
+            if (source < 0 || n >= 0 && source >= Math.max(1, n)) {
+                throw new IOException("Source vertex " + source + " outside a graph of " + n
+                        + " vertices in " + filePath);
+            }
+            if (sinkFactory == null) {
+                return new LoadedGraph(null, source, weightModel);
+            }
+            if (n < 0 || directed == null) {
+                throw new IOException("Missing \"n\" or \"directed\" in " + filePath);
+            }
+            if (sink == null) {
+                sink = sinkFactory.apply(n, directed);
+            }
+            if (pending != null) {
+                pending.drainTo(sink);
+            }
+            return new LoadedGraph(sink.build(), source, weightModel);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new IOException("Malformed graph file " + filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Edges go to the sink if it exists yet, otherwise into the buffer
+    private static void readEdges(JsonReader reader, GraphSink sink, EdgeBuffer pending,
+                                  String filePath) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int u = -1, v = -1, w = 0;
+            boolean hasWeight = false;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "u":
+                        u = reader.nextInt();
+                        break;
+                    case "v":
+                        v = reader.nextInt();
+                        break;
+                    case "w":
+                        w = reader.nextInt();
+                        hasWeight = true;
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            if (u < 0 || v < 0 || !hasWeight) {
+                throw new IOException("Edge without \"u\", \"v\" and \"w\" in " + filePath);
+            }
+            if (sink != null) {
+                sink.addEdge(u, v, w);
+            } else {
+                pending.add(u, v, w);
+            }
+        }
+        reader.endArray();
+    }
+
+    private static final class EdgeBuffer {
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private int[] weight = new int[16];
+        private int size;
+
+        void add(int u, int v, int w) {
+            if (size == from.length) {
+                int capacity = size + (size >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+        }
+
+        void drainTo(GraphSink sink) {
+            for (int i = 0; i < size; i++) {
+                sink.addEdge(from[i], to[i], weight[i]);
+            }
+            size = 0;
+        }
     }
 }
@@ -0,0 +1,732 @@
+package kz.edu.daa.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Seeded synthetic graph generator for large workloads, writing streaming JSON or the
+ * binary CSR format of GraphBinaryFormat without holding the graph in memory.
+ *
+ * Generation runs in two parallel passes over fixed chunks of source vertices. The first
+ * assigns every vertex its out-degree: each chunk gets its share of the m edges in
+ * proportion to the model's row weights, and throws them onto its vertices. The second
+ * draws targets and weights for each chunk. Every chunk and pass has its own
+ * SplittableRandom derived from the seed, so the output depends only on the parameters,
+ * not on the number of threads, and edges come out grouped by source.
+ *
+ * Usage: LargeGraphGenerator --model er|rmat|layered|planted --n N --m M [--seed S]
+ *        [--weights uniform:LO:HI|const:W|exp:MEAN] [--format json|bin] [--out FILE]
+ *        [--source V] [--layers L] [--scc-size K] [--rmat A,B,C] [--threads T]
+ *
+ * Without --out the file goes to data/large/, not data/generated/: Main runs and prints
+ * every dataset in data/generated/, which is no place for millions of vertices.
+ */
+public class LargeGraphGenerator {
+    private static final String DEFAULT_OUT_DIR = "data/large";
+    private static final int CHUNK_VERTICES = 1 << 16;
+    private static final int PASS_DEGREES = 1;
+    private static final int PASS_EDGES = 2;
+
+    public enum Model {
+        /** Erdős–Rényi G(n, m): uniform sources and targets, no self-loops. */
+        ER,
+        /** R-MAT power-law graph with quadrant probabilities a, b, c, d. */
+        RMAT,
+        /** Layered DAG: edges only go from one layer to the next. */
+        LAYERED,
+        /** Planted SCCs: rings of sccSize vertices plus random forward edges between rings. */
+        PLANTED
+    }
+
+    /** Samples one positive edge weight. */
+    public interface WeightDistribution {
+        int sample(SplittableRandom random);
+
+        static WeightDistribution uniform(int low, int high) {
+            if (low > high) {
+                throw new IllegalArgumentException("Empty weight range " + low + ".." + high);
+            }
+            return random -> random.nextInt(low, high + 1);
+        }
+
+        static WeightDistribution constant(int weight) {
+            return random -> weight;
+        }
+
+        static WeightDistribution exponential(double mean) {
+            return random -> (int) Math.min(Integer.MAX_VALUE,
+                    Math.max(1, Math.ceil(-mean * Math.log(1 - random.nextDouble()))));
+        }
+
+        /** Parses "uniform:LO:HI", "const:W" or "exp:MEAN". */
+        static WeightDistribution parse(String spec) {
+            String[] parts = spec.split(":");
+            switch (parts[0]) {
+                case "uniform":
+                    return uniform(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                case "const":
+                    return constant(Integer.parseInt(parts[1]));
+                case "exp":
+                    return exponential(Double.parseDouble(parts[1]));
+                default:
+                    throw new IllegalArgumentException("Unknown weight distribution: " + spec);
+            }
+        }
+    }
+
+    private final EdgeModel model;
+    private final int n;
+    private final long m;
+    private final long seed;
+    private final WeightDistribution weights;
+    private final int source;
+    private final ForkJoinPool pool;
+
+    private LargeGraphGenerator(Builder builder) {
+        this.n = builder.n;
+        this.m = builder.m;
+        this.seed = builder.seed;
+        this.weights = builder.weights;
+        this.source = builder.source;
+        this.pool = builder.pool;
+        switch (builder.model) {
+            case ER:
+                this.model = new ErdosRenyi(n);
+                break;
+            case RMAT:
+                this.model = new RMat(n, builder.rmatA, builder.rmatB, builder.rmatC);
+                break;
+            case LAYERED:
+                this.model = new Layered(n, builder.layers);
+                break;
+            default:
+                this.model = new PlantedSCC(n, builder.sccSize);
+                break;
+        }
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source vertex out of range: " + source);
+        }
+    }
+
+    public static class Builder {
+        private final Model model;
+        private final int n;
+        private final long m;
+        private long seed = 42;
+        private WeightDistribution weights = WeightDistribution.uniform(1, 10);
+        private int source;
+        private int layers = 100;
+        private int sccSize = 16;
+        private double rmatA = 0.57, rmatB = 0.19, rmatC = 0.19;
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        public Builder(Model model, int n, long m) {
+            if (n <= 0 || m < 0 || m > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid size: n=" + n + ", m=" + m);
+            }
+            this.model = model;
+            this.n = n;
+            this.m = m;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder weights(WeightDistribution weights) {
+            this.weights = weights;
+            return this;
+        }
+
+        public Builder source(int source) {
+            this.source = source;
+            return this;
+        }
+
+        public Builder layers(int layers) {
+            this.layers = layers;
+            return this;
+        }
+
+        public Builder sccSize(int sccSize) {
+            this.sccSize = sccSize;
+            return this;
+        }
+
+        public Builder rmat(double a, double b, double c) {
+            if (a < 0 || b < 0 || c < 0 || a + b + c >= 1) {
+                throw new IllegalArgumentException("R-MAT probabilities must be >= 0 and sum below 1");
+            }
+            this.rmatA = a;
+            this.rmatB = b;
+            this.rmatC = c;
+            return this;
+        }
+
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        public LargeGraphGenerator build() {
+            return new LargeGraphGenerator(this);
+        }
+    }
+
+    /** A chunk's generated edges; vertex firstVertex + i owns the next degrees[i] of them. */
+    private static final class Chunk {
+        final int firstVertex;
+        final int[] degrees;
+        final int[] targets;
+        final int[] weights;
+
+        Chunk(int firstVertex, int[] degrees, int[] targets, int[] weights) {
+            this.firstVertex = firstVertex;
+            this.degrees = degrees;
+            this.targets = targets;
+            this.weights = weights;
+        }
+    }
+
+    /**
+     * Writes the graph as JSON in the same schema as the bundled datasets, one edge per line.
+     * Chunks are rendered in parallel, at most a few ahead of the writer.
+     */
+    public void writeJson(Path file) throws IOException {
+        int[] degrees = assignDegrees();
+        long[] chunkStarts = chunkEdgeStarts(degrees);
+        int chunks = chunkStarts.length - 1;
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            out.write(("{\n  \"directed\": true,\n  \"n\": " + n + ",\n  \"edges\": [")
+                    .getBytes(StandardCharsets.US_ASCII));
+
+            int window = Math.max(2, pool.getParallelism() * 2);
+            Deque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>();
+            int nextChunk = 0;
+            boolean first = true;
+            while (nextChunk < chunks || !pending.isEmpty()) {
+                while (nextChunk < chunks && pending.size() < window) {
+                    int c = nextChunk++;
+                    pending.addLast(pool.submit(() -> renderJson(generateChunk(c, degrees, chunkStarts))));
+                }
+                byte[] rendered = pending.removeFirst().join();
+                if (rendered.length > 0) {
+                    out.write(first ? "\n".getBytes(StandardCharsets.US_ASCII)
+                            : ",\n".getBytes(StandardCharsets.US_ASCII));
+                    out.write(rendered);
+                    first = false;
+                }
+            }
+
+            out.write(("\n  ],\n  \"source\": " + source + ",\n  \"weight_model\": \"edge\"\n}\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Writes the graph in GraphBinaryFormat. Each chunk writes its own slice of the target
+     * and weight arrays with positional writes, so no ordering between chunks is needed.
+     */
+    public void writeBinary(Path file) throws IOException {
+        int[] degrees = assignDegrees();
+        long[] chunkStarts = chunkEdgeStarts(degrees);
+        int chunks = chunkStarts.length - 1;
+        GraphBinaryFormat.Header header = new GraphBinaryFormat.Header(
+                n, chunkStarts[chunks], true, source, "edge");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, GraphBinaryFormat.encodeHeader(header), 0);
+
+            ByteBuffer offsets = ByteBuffer.allocate(4 * (CHUNK_VERTICES + 1)).order(GraphBinaryFormat.BYTE_ORDER);
+            long offset = 0;
+            long position = header.offsetsPosition();
+            for (int u = 0; u <= n; u++) {
+                offsets.putInt((int) offset);
+                if (u < n) {
+                    offset += degrees[u];
+                }
+                if (!offsets.hasRemaining() || u == n) {
+                    offsets.flip();
+                    position += writeFully(channel, offsets, position);
+                    offsets.clear();
+                }
+            }
+
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                Chunk chunk = generateChunk(c, degrees, chunkStarts);
+                try {
+                    writeFully(channel, toBytes(chunk.targets), header.targetsPosition() + 4 * chunkStarts[c]);
+                    writeFully(channel, toBytes(chunk.weights), header.weightsPosition() + 4 * chunkStarts[c]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Pass 1: out-degree of every vertex; sums to exactly m
+    int[] assignDegrees() {
+        int chunks = (n + CHUNK_VERTICES - 1) / CHUNK_VERTICES;
+        int[] degrees = new int[n];
+
+        double[] chunkWeight = new double[chunks];
+        long[] chunkFixed = new long[chunks];
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            double weight = 0;
+            long fixed = 0;
+            for (int u = c * CHUNK_VERTICES; u < Math.min(n, (c + 1) * CHUNK_VERTICES); u++) {
+                weight += model.rowWeight(u);
+                fixed += model.fixedDegree(u);
+            }
+            chunkWeight[c] = weight;
+            chunkFixed[c] = fixed;
+        })).join();
+
+        long fixedTotal = Arrays.stream(chunkFixed).sum();
+        if (fixedTotal > m) {
+            throw new IllegalArgumentException("Model needs at least " + fixedTotal + " edges, got m=" + m);
+        }
+        long[] shares = apportion(m - fixedTotal, chunkWeight);
+
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * CHUNK_VERTICES;
+            int to = Math.min(n, from + CHUNK_VERTICES);
+            double[] prefix = new double[to - from];
+            double sum = 0;
+            for (int u = from; u < to; u++) {
+                degrees[u] = model.fixedDegree(u);
+                sum += model.rowWeight(u);
+                prefix[u - from] = sum;
+            }
+            SplittableRandom random = chunkRandom(PASS_DEGREES, c);
+            for (long e = 0; e < shares[c]; e++) {
+                degrees[from + firstAbove(prefix, random.nextDouble() * sum)]++;
+            }
+        })).join();
+        return degrees;
+    }
+
+    // Smallest index whose prefix sum exceeds x; zero-weight rows are never chosen
+    private static int firstAbove(double[] prefix, double x) {
+        int low = 0, high = prefix.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefix[mid] > x) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Largest-remainder split of total across weights, deterministic
+    private static long[] apportion(long total, double[] weights) {
+        double sum = Arrays.stream(weights).sum();
+        long[] shares = new long[weights.length];
+        if (total == 0) {
+            return shares;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Model has no vertex that can take extra edges");
+        }
+        long assigned = 0;
+        double[] remainder = new double[weights.length];
+        for (int c = 0; c < weights.length; c++) {
+            double exact = total * weights[c] / sum;
+            shares[c] = (long) exact;
+            remainder[c] = exact - shares[c];
+            assigned += shares[c];
+        }
+        Integer[] byRemainder = new Integer[weights.length];
+        for (int c = 0; c < weights.length; c++) {
+            byRemainder[c] = c;
+        }
+        Arrays.sort(byRemainder, (x, y) -> Double.compare(remainder[y], remainder[x]));
+        for (int i = 0; assigned < total; i = (i + 1) % weights.length) {
+            if (weights[byRemainder[i]] > 0) {
+                shares[byRemainder[i]]++;
+                assigned++;
+            }
+        }
+        return shares;
+    }
+
+    private long[] chunkEdgeStarts(int[] degrees) {
+        int chunks = (n + CHUNK_VERTICES - 1) / CHUNK_VERTICES;
+        long[] starts = new long[chunks + 1];
+        for (int c = 0; c < chunks; c++) {
+            long edges = 0;
+            for (int u = c * CHUNK_VERTICES; u < Math.min(n, (c + 1) * CHUNK_VERTICES); u++) {
+                edges += degrees[u];
+            }
+            starts[c + 1] = starts[c] + edges;
+        }
+        return starts;
+    }
+
+    // Pass 2: targets and weights of one chunk, in source order
+    private Chunk generateChunk(int c, int[] degrees, long[] chunkStarts) {
+        int from = c * CHUNK_VERTICES;
+        int to = Math.min(n, from + CHUNK_VERTICES);
+        int edges = (int) (chunkStarts[c + 1] - chunkStarts[c]);
+        int[] targets = new int[edges];
+        int[] edgeWeights = new int[edges];
+        SplittableRandom random = chunkRandom(PASS_EDGES, c);
+        int e = 0;
+        for (int u = from; u < to; u++) {
+            for (int k = 0; k < degrees[u]; k++) {
+                targets[e] = model.target(u, k, random);
+                edgeWeights[e] = weights.sample(random);
+                e++;
+            }
+        }
+        return new Chunk(from, Arrays.copyOfRange(degrees, from, to), targets, edgeWeights);
+    }
+
+    private SplittableRandom chunkRandom(int pass, int chunk) {
+        return new SplittableRandom(mix64(mix64(seed + pass) + chunk));
+    }
+
+    // Stafford variant 13 finalizer, decorrelates nearby seeds
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static byte[] renderJson(Chunk chunk) {
+        JsonBytes out = new JsonBytes(chunk.targets.length * 28);
+        int e = 0;
+        for (int i = 0; i < chunk.degrees.length; i++) {
+            int u = chunk.firstVertex + i;
+            for (int k = 0; k < chunk.degrees[i]; k++, e++) {
+                if (e > 0) {
+                    out.ascii(",\n");
+                }
+                out.ascii("    {\"u\": ").number(u).ascii(", \"v\": ").number(chunk.targets[e])
+                        .ascii(", \"w\": ").number(chunk.weights[e]).ascii("}");
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] toBytes(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * values.length).order(GraphBinaryFormat.BYTE_ORDER);
+        buffer.asIntBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static long writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        return writeFully(channel, ByteBuffer.wrap(bytes), position);
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    /** Growable ASCII byte buffer; avoids building a String per chunk. */
+    private static final class JsonBytes {
+        private byte[] bytes;
+        private int length;
+
+        JsonBytes(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        JsonBytes ascii(String s) {
+            ensure(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                bytes[length++] = (byte) s.charAt(i);
+            }
+            return this;
+        }
+
+        JsonBytes number(int value) {
+            ensure(11);
+            if (value < 0) {
+                bytes[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                bytes[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte t = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = t;
+            }
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    /** Where each vertex's out-edges go; row weights steer how many it gets. */
+    private interface EdgeModel {
+        double rowWeight(int u);
+
+        int fixedDegree(int u);
+
+        int target(int u, int k, SplittableRandom random);
+    }
+
+    private static final class ErdosRenyi implements EdgeModel {
+        private final int n;
+
+        ErdosRenyi(int n) {
+            this.n = n;
+        }
+
+        @Override
+        public double rowWeight(int u) {
+            return n > 1 ? 1 : 0;
+        }
+
+        @Override
+        public int fixedDegree(int u) {
+            return 0;
+        }
+
+        @Override
+        public int target(int u, int k, SplittableRandom random) {
+            int v = random.nextInt(n - 1);
+            return v >= u ? v + 1 : v;
+        }
+    }
+
+    // Rows and columns are chosen bit by bit; the row marginal gives each source's weight
+    private static final class RMat implements EdgeModel {
+        private final int n;
+        private final int scale;
+        private final double a, b, c, d;
+
+        RMat(int n, double a, double b, double c) {
+            this.n = n;
+            this.scale = Math.max(1, 32 - Integer.numberOfLeadingZeros(n - 1));
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = 1 - a - b - c;
+        }
+
+        @Override
+        public double rowWeight(int u) {
+            if (n < 2) {
+                return 0;
+            }
+            double weight = 1;
+            for (int bit = scale - 1; bit >= 0; bit--) {
+                weight *= ((u >>> bit) & 1) == 0 ? a + b : c + d;
+            }
+            return weight;
+        }
+
+        @Override
+        public int fixedDegree(int u) {
+            return 0;
+        }
+
+        @Override
+        public int target(int u, int k, SplittableRandom random) {
+            for (int attempt = 0; attempt < 64; attempt++) {
+                int v = 0;
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    boolean lowRow = ((u >>> bit) & 1) == 0;
+                    double right = lowRow ? b / (a + b) : d / (c + d);
+                    v = (v << 1) | (random.nextDouble() < right ? 1 : 0);
+                }
+                if (v < n && v != u) {
+                    return v;
+                }
+            }
+            int v = random.nextInt(n - 1); // degenerate probabilities; fall back to uniform
+            return v >= u ? v + 1 : v;
+        }
+    }
+
+    private static final class Layered implements EdgeModel {
+        private final int n;
+        private final int width;
+
+        Layered(int n, int layers) {
+            if (layers < 2 || layers > n) {
+                throw new IllegalArgumentException("Layered model needs 2 <= layers <= n, got " + layers);
+            }
+            this.n = n;
+            this.width = (n + layers - 1) / layers;
+        }
+
+        @Override
+        public double rowWeight(int u) {
+            return (u / width + 1) * width < n ? 1 : 0;
+        }
+
+        @Override
+        public int fixedDegree(int u) {
+            return 0;
+        }
+
+        @Override
+        public int target(int u, int k, SplittableRandom random) {
+            int nextStart = (u / width + 1) * width;
+            return nextStart + random.nextInt(Math.min(n, nextStart + width) - nextStart);
+        }
+    }
+
+    // Ring edge first (k == 0), then forward edges to later rings, so rings are exactly the SCCs
+    private static final class PlantedSCC implements EdgeModel {
+        private final int n;
+        private final int sccSize;
+
+        PlantedSCC(int n, int sccSize) {
+            if (sccSize < 1) {
+                throw new IllegalArgumentException("SCC size must be positive: " + sccSize);
+            }
+            this.n = n;
+            this.sccSize = sccSize;
+        }
+
+        private int ringStart(int u) {
+            return u - u % sccSize;
+        }
+
+        @Override
+        public double rowWeight(int u) {
+            return ringStart(u) + sccSize < n ? 1 : 0;
+        }
+
+        @Override
+        public int fixedDegree(int u) {
+            return Math.min(n, ringStart(u) + sccSize) - ringStart(u) > 1 ? 1 : 0;
+        }
+
+        @Override
+        public int target(int u, int k, SplittableRandom random) {
+            int start = ringStart(u);
+            int end = Math.min(n, start + sccSize);
+            if (k < fixedDegree(u)) {
+                return u + 1 < end ? u + 1 : start;
+            }
+            return end + random.nextInt(n - end);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Model model = Model.ER;
+        int n = 1_000_000;
+        long m = 10_000_000;
+        String format = "json";
+        String out = null;
+        long seed = 42;
+        String weights = "uniform:1:10";
+        int source = 0, layers = 100, sccSize = 16, threads = 0;
+        double[] rmat = {0.57, 0.19, 0.19};
+
+        for (int i = 0; i < args.length; i += 2) {
+            String value = i + 1 < args.length ? args[i + 1] : "";
+            switch (args[i]) {
+                case "--model":
+                    model = value.equals("planted-scc") ? Model.PLANTED : Model.valueOf(value.toUpperCase());
+                    break;
+                case "--n":
+                    n = Integer.parseInt(value);
+                    break;
+                case "--m":
+                    m = Long.parseLong(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--weights":
+                    weights = value;
+                    break;
+                case "--format":
+                    format = value;
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                case "--source":
+                    source = Integer.parseInt(value);
+                    break;
+                case "--layers":
+                    layers = Integer.parseInt(value);
+                    break;
+                case "--scc-size":
+                    sccSize = Integer.parseInt(value);
+                    break;
+                case "--rmat":
+                    rmat = Arrays.stream(value.split(",")).mapToDouble(Double::parseDouble).toArray();
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        ForkJoinPool pool = threads > 0 ? new ForkJoinPool(threads) : ForkJoinPool.commonPool();
+        LargeGraphGenerator generator = new Builder(model, n, m)
+                .seed(seed)
+                .weights(WeightDistribution.parse(weights))
+                .source(source)
+                .layers(layers)
+                .sccSize(sccSize)
+                .rmat(rmat[0], rmat[1], rmat[2])
+                .pool(pool)
+                .build();
+
+        boolean binary = format.equals("bin");
+        Path path = Paths.get(out != null ? out : String.format(DEFAULT_OUT_DIR + "/%s_%d_%d%s",
+                model.name().toLowerCase(), n, m, binary ? GraphBinaryFormat.FILE_EXTENSION : ".json"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        long start = System.nanoTime();
+        if (binary) {
+            generator.writeBinary(path);
+        } else {
+            generator.writeJson(path);
+        }
+        System.out.printf("Generated %s (%d vertices, %d edges, %,d bytes) in %.1f ms\n",
+                path, n, m, Files.size(path), (System.nanoTime() - start) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,31 @@
+package kz.edu.daa.utils;
+
+import kz.edu.daa.graph.model.AdjacencyGraph;
+
+/**
+ * A graph file's contents from a single load: the graph plus its source vertex and
+ * weight model metadata.
+ */
+public class LoadedGraph {
+    private final AdjacencyGraph graph;
+    private final int source;
+    private final String weightModel;
+
+    public LoadedGraph(AdjacencyGraph graph, int source, String weightModel) {
+        this.graph = graph;
+        this.source = source;
+        this.weightModel = weightModel;
+    }
+
+    public AdjacencyGraph getGraph() {
+        return graph;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public String getWeightModel() {
+        return weightModel;
+    }
+}
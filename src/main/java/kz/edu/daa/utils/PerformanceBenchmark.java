@@ -0,0 +1,373 @@
+package kz.edu.daa.utils;
+
+import kz.edu.daa.graph.dagsp.BatchPathQuery;
+import kz.edu.daa.graph.dagsp.DAGShortestPath;
+import kz.edu.daa.graph.dagsp.PathMode;
+import kz.edu.daa.graph.metrics.ConcurrentMetrics;
+import kz.edu.daa.graph.metrics.Metrics;
+import kz.edu.daa.graph.metrics.NoOpMetrics;
+import kz.edu.daa.graph.metrics.SamplingMetrics;
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.model.Edge;
+import kz.edu.daa.graph.model.EdgeVisitor;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.scc.CondensationGraph;
+import kz.edu.daa.graph.scc.ParallelEdgePolicy;
+import kz.edu.daa.graph.scc.ParallelSCC;
+import kz.edu.daa.graph.scc.TarjanSCC;
+import kz.edu.daa.graph.topo.KahnAlgorithm;
+import kz.edu.daa.graph.topo.ParallelKahn;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Quick wall-clock benchmarks for comparing implementation variants.
+ * Usage: PerformanceBenchmark [suite] [vertices] [edges]
+ */
+public class PerformanceBenchmark {
+    private static final int REPETITIONS = 5;
+
+    public static void main(String[] args) {
+        String suite = args.length > 0 ? args[0] : "all";
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int m = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+
+        System.out.printf("Benchmark suite '%s': %d vertices, %d edges\n", suite, n, m);
+        if (suite.equals("all") || suite.equals("layout")) {
+            compareLayouts(n, m);
+        }
+        if (suite.equals("all") || suite.equals("alloc")) {
+            compareNeighborAllocation(n, m);
+        }
+        if (suite.equals("all") || suite.equals("scc")) {
+            sccScaling(n, m);
+        }
+        if (suite.equals("all") || suite.equals("condense")) {
+            condensationScaling(n, m);
+        }
+        if (suite.equals("all") || suite.equals("topo")) {
+            topoScaling(n, m);
+        }
+        if (suite.equals("all") || suite.equals("batch")) {
+            batchQueries(n, m);
+        }
+        if (suite.equals("all") || suite.equals("metrics")) {
+            metricsOverhead(n, m);
+        }
+    }
+
+    // Map-of-lists Graph vs immutable CSRGraph
+    private static void compareLayouts(int n, int m) {
+        System.out.println("\n=== Graph layout: memory ===");
+        long before = usedMemory();
+        Graph graph = randomDAG(n, m, 42);
+        long graphBytes = usedMemory() - before;
+
+        before = usedMemory();
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+        long csrBytes = usedMemory() - before;
+
+        System.out.printf("  Graph (map of lists): %,d bytes (%.1f B/edge)\n", graphBytes, (double) graphBytes / m);
+        System.out.printf("  CSRGraph:             %,d bytes (%.1f B/edge)\n", csrBytes, (double) csrBytes / m);
+
+        System.out.println("\n=== Graph layout: throughput (best of " + REPETITIONS + ") ===");
+        report("Graph    Tarjan", timeTarjan(graph));
+        report("CSRGraph Tarjan", timeTarjan(csr));
+        report("Graph    Kahn", timeKahn(graph));
+        report("CSRGraph Kahn", timeKahn(csr));
+        report("Graph    DAG-SP", timeShortestPath(graph));
+        report("CSRGraph DAG-SP", timeShortestPath(csr));
+    }
+
+    // Bytes allocated by one full out-edge pass with each iteration style
+    private static void compareNeighborAllocation(int n, int m) {
+        Graph graph = randomDAG(n, m, 42);
+        long[] sink = new long[1];
+
+        System.out.println("\n=== Neighbor iteration: allocation per full pass ===");
+        for (int warmup = 0; warmup < 3; warmup++) {
+            passWithCopies(graph, sink);
+            passWithView(graph, sink);
+            passWithIndex(graph, sink);
+            passWithVisitor(graph, sink);
+        }
+
+        long start = allocatedBytes();
+        passWithCopies(graph, sink);
+        reportBytes("getEdges (copy)", allocatedBytes() - start, m);
+
+        start = allocatedBytes();
+        passWithView(graph, sink);
+        reportBytes("getEdgesView", allocatedBytes() - start, m);
+
+        start = allocatedBytes();
+        passWithIndex(graph, sink);
+        reportBytes("indexed access", allocatedBytes() - start, m);
+
+        start = allocatedBytes();
+        passWithVisitor(graph, sink);
+        reportBytes("forEachEdge", allocatedBytes() - start, m);
+
+        start = allocatedBytes();
+        new KahnAlgorithm(graph, NoOpMetrics.INSTANCE).sort();
+        reportBytes("Kahn sort", allocatedBytes() - start, m);
+    }
+
+    private static void passWithCopies(Graph graph, long[] sink) {
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            for (Edge edge : graph.getEdges(u)) {
+                sink[0] += edge.getWeight();
+            }
+        }
+    }
+
+    private static void passWithView(Graph graph, long[] sink) {
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            for (Edge edge : graph.getEdgesView(u)) {
+                sink[0] += edge.getWeight();
+            }
+        }
+    }
+
+    private static void passWithIndex(Graph graph, long[] sink) {
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                sink[0] += graph.getEdgeWeight(u, i);
+            }
+        }
+    }
+
+    private static void passWithVisitor(Graph graph, long[] sink) {
+        EdgeVisitor visitor = (to, weight) -> sink[0] += weight;
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            graph.forEachEdge(u, visitor);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    private static void reportBytes(String label, long bytes, int edges) {
+        System.out.printf("  %-18s %,14d bytes (%.2f B/edge)\n", label, bytes, (double) bytes / edges);
+    }
+
+    // TarjanSCC vs ParallelSCC on 1..N worker threads
+    private static void sccScaling(int n, int m) {
+        CSRGraph giant = CSRGraph.fromGraph(randomGraph(n, m, 42));
+        CSRGraph clustered = CSRGraph.fromGraph(clusteredGraph(n, 8, m / n, 42));
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (String shape : new String[]{"giant SCC", "many small SCCs"}) {
+            CSRGraph graph = shape.equals("giant SCC") ? giant : clustered;
+            System.out.println("\n=== SCC scaling: " + shape + " (best of " + REPETITIONS + ") ===");
+            report("Tarjan", timeTarjan(graph));
+            for (int p = 1; p <= cores; p = p < cores && p * 2 > cores ? cores : p * 2) {
+                ForkJoinPool pool = new ForkJoinPool(p);
+                report("Parallel p=" + p, timeParallelSCC(graph, pool));
+                pool.shutdown();
+            }
+        }
+    }
+
+    // Sequential vs chunked parallel CondensationGraph build
+    private static void condensationScaling(int n, int m) {
+        CSRGraph graph = CSRGraph.fromGraph(clusteredGraph(n, 8, Math.max(2, m / n), 42));
+        List<List<Integer>> sccs = new TarjanSCC(graph, NoOpMetrics.INSTANCE).findSCCs();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("\n=== Condensation build: %d edges, %d SCCs (best of %d) ===\n",
+                graph.getNumEdges(), sccs.size(), REPETITIONS);
+        report("Sequential", timeCondensation(graph, sccs, null));
+        for (int p = 1; p <= cores; p = p < cores && p * 2 > cores ? cores : p * 2) {
+            ForkJoinPool pool = new ForkJoinPool(p);
+            report("Parallel p=" + p, timeCondensation(graph, sccs, pool));
+            pool.shutdown();
+        }
+    }
+
+    private static long timeCondensation(AdjacencyGraph graph, List<List<Integer>> sccs, ForkJoinPool pool) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            new CondensationGraph(graph, sccs, ParallelEdgePolicy.FIRST, pool);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    // Sequential Kahn vs level-synchronous ParallelKahn on a wide layered DAG
+    private static void topoScaling(int n, int m) {
+        CSRGraph dag = CSRGraph.fromGraph(layeredDAG(n, m, Math.max(1, n / 20_000), 42));
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("\n=== Topological sort: layered DAG (best of " + REPETITIONS + ") ===");
+        report("Kahn", timeKahn(dag));
+        for (int p = 1; p <= cores; p = p < cores && p * 2 > cores ? cores : p * 2) {
+            ForkJoinPool pool = new ForkJoinPool(p);
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < REPETITIONS; r++) {
+                long start = System.nanoTime();
+                new ParallelKahn(dag, NoOpMetrics.INSTANCE, pool).sort();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            report("ParallelKahn p=" + p, best);
+            pool.shutdown();
+        }
+    }
+
+    // One DAGShortestPath per source vs one BatchPathQuery for all sources
+    private static void batchQueries(int n, int m) {
+        CSRGraph dag = CSRGraph.fromGraph(randomDAG(n, m, 42));
+        TopologicalOrder order = TopologicalOrder.of(dag, NoOpMetrics.INSTANCE);
+        int[] sources = new Random(7).ints(1_000, 0, n).toArray();
+
+        System.out.println("\n=== Multi-source shortest paths: " + sources.length + " sources ===");
+        long start = System.nanoTime();
+        for (int source : sources) {
+            new DAGShortestPath(dag, order, source, NoOpMetrics.INSTANCE).computeShortestPaths();
+        }
+        report("Per-source", System.nanoTime() - start);
+
+        BatchPathQuery batch = new BatchPathQuery(dag, order, PathMode.SHORTEST);
+        start = System.nanoTime();
+        batch.query(sources);
+        report("Batch", System.nanoTime() - start);
+    }
+
+    // Instrumentation cost of each Metrics implementation on Tarjan + Kahn
+    private static void metricsOverhead(int n, int m) {
+        CSRGraph dag = CSRGraph.fromGraph(randomDAG(n, m, 42));
+
+        System.out.println("\n=== Metrics overhead: Tarjan + Kahn (best of " + REPETITIONS + ") ===");
+        report("NoOpMetrics", timeInstrumented(dag, () -> NoOpMetrics.INSTANCE));
+        report("SimpleMetrics", timeInstrumented(dag, SimpleMetrics::new));
+        report("ConcurrentMetrics", timeInstrumented(dag, ConcurrentMetrics::new));
+        report("Sampling 1/64", timeInstrumented(dag, () -> SamplingMetrics.everyNth(64)));
+        report("Timings only", timeInstrumented(dag, SamplingMetrics::timingsOnly));
+    }
+
+    private static long timeInstrumented(AdjacencyGraph graph, Supplier<Metrics> metricsFactory) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            Metrics metrics = metricsFactory.get();
+            long start = System.nanoTime();
+            new TarjanSCC(graph, metrics).findSCCs();
+            new KahnAlgorithm(graph, metrics).sort();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long timeParallelSCC(AdjacencyGraph graph, ForkJoinPool pool) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            new ParallelSCC(graph, NoOpMetrics.INSTANCE, pool).findSCCs();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long timeTarjan(AdjacencyGraph graph) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            new TarjanSCC(graph, NoOpMetrics.INSTANCE).findSCCs();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long timeKahn(AdjacencyGraph graph) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            new KahnAlgorithm(graph, NoOpMetrics.INSTANCE).sort();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long timeShortestPath(AdjacencyGraph graph) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            new DAGShortestPath(graph, 0, NoOpMetrics.INSTANCE).computeShortestPaths();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    public static Graph randomDAG(int n, int m, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n - 1);
+            int v = u + 1 + random.nextInt(n - u - 1);
+            graph.addEdge(u, v, 1 + random.nextInt(10));
+        }
+        return graph;
+    }
+
+    // Edges only go from one layer to the next, so every layer is one Kahn frontier
+    public static Graph layeredDAG(int n, int m, int layers, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n, true);
+        int width = Math.max(1, n / layers);
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(Math.max(1, n - width));
+            int layerEnd = Math.min(n, (u / width + 2) * width);
+            int layerStart = Math.min(n - 1, (u / width + 1) * width);
+            int v = layerStart + random.nextInt(Math.max(1, layerEnd - layerStart));
+            graph.addEdge(u, v, 1 + random.nextInt(10));
+        }
+        return graph;
+    }
+
+    public static Graph randomGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < m; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(10));
+        }
+        return graph;
+    }
+
+    // Cycles of clusterSize vertices, linked forward by random DAG edges
+    public static Graph clusteredGraph(int n, int clusterSize, int edgesPerVertex, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n, true);
+        for (int v = 0; v < n; v++) {
+            int clusterStart = v - v % clusterSize;
+            int next = v + 1 < Math.min(n, clusterStart + clusterSize) ? v + 1 : clusterStart;
+            graph.addEdge(v, next, 1 + random.nextInt(10));
+            for (int i = 1; i < edgesPerVertex && clusterStart + clusterSize < n; i++) {
+                int target = clusterStart + clusterSize + random.nextInt(n - clusterStart - clusterSize);
+                graph.addEdge(v, target, 1 + random.nextInt(10));
+            }
+        }
+        return graph;
+    }
+
+    private static void report(String label, long nanos) {
+        System.out.printf("  %-18s %10.3f ms\n", label, nanos / 1_000_000.0);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,83 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchPathQueryTest {
+    private Graph dag;
+    private TopologicalOrder order;
+    private SimpleMetrics metrics;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+        pool = new ForkJoinPool(4);
+
+        Random random = new Random(5);
+        int n = 300;
+        dag = new Graph(n, true);
+        for (int i = 0; i < 1_500; i++) {
+            int u = random.nextInt(n - 1);
+            dag.addEdge(u, u + 1 + random.nextInt(Math.min(30, n - u - 1)), 1 + random.nextInt(20));
+        }
+        order = TopologicalOrder.of(dag, metrics);
+    }
+
+    @Test
+    public void testShortestMatchesSingleSource() {
+        int[] sources = {0, 7, 150, 299, 7};
+        List<SourceDistances> results = new BatchPathQuery(dag, order, PathMode.SHORTEST, pool).query(sources);
+
+        assertEquals(sources.length, results.size());
+        for (int k = 0; k < sources.length; k++) {
+            assertEquals(sources[k], results.get(k).getSource(), "Results keep source order");
+            DAGShortestPath sp = new DAGShortestPath(dag, order, sources[k], metrics);
+            sp.computeShortestPaths();
+            for (int v = 0; v < dag.getNumVertices(); v++) {
+                assertEquals(sp.getDistance(v), results.get(k).getDistance(v), "source " + sources[k] + ", vertex " + v);
+            }
+        }
+    }
+
+    @Test
+    public void testLongestMatchesSingleSource() {
+        int[] sources = {3, 42, 200};
+        List<SourceDistances> results = new BatchPathQuery(dag, order, PathMode.LONGEST, pool).query(sources);
+
+        for (int k = 0; k < sources.length; k++) {
+            DAGLongestPath lp = new DAGLongestPath(dag, order, sources[k], metrics);
+            lp.computeLongestPaths();
+            for (int v = 0; v < dag.getNumVertices(); v++) {
+                assertEquals(lp.getDistance(v), results.get(k).getDistance(v), "source " + sources[k] + ", vertex " + v);
+            }
+        }
+    }
+
+    @Test
+    public void testResultsOnlyStoreReachableVertices() {
+        SourceDistances last = new BatchPathQuery(dag, order, PathMode.SHORTEST, pool).query(299);
+
+        assertEquals(1, last.getNumReachable(), "The last vertex only reaches itself");
+        assertFalse(last.isReachable(0));
+        assertEquals(Long.MAX_VALUE, last.getDistance(0));
+    }
+
+    @Test
+    public void testInvalidSourceRejected() {
+        BatchPathQuery batch = new BatchPathQuery(dag, order, PathMode.SHORTEST, pool);
+
+        assertThrows(IllegalArgumentException.class, () -> batch.query(dag.getNumVertices()));
+        assertThrows(IllegalArgumentException.class, () -> batch.query(-1));
+        assertThrows(IllegalArgumentException.class, () -> batch.query(new int[]{0, dag.getNumVertices()}));
+    }
+}
@@ -0,0 +1,91 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CriticalPathMethodTest {
+    private SimpleMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+    }
+
+    @Test
+    public void testStartsSlackAndCriticalPath() {
+        // 0->1(3) 0->2(2) 1->3(4) 2->3(1) 3->4(2) 2->4(1)
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 3);
+        graph.addEdge(0, 2, 2);
+        graph.addEdge(1, 3, 4);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 4, 2);
+        graph.addEdge(2, 4, 1);
+        CriticalPathMethod cpm = new CriticalPathMethod(graph, metrics);
+        cpm.compute();
+
+        assertEquals(9, cpm.getProjectLength());
+        assertArrayEquals(new long[]{0, 3, 2, 7, 9}, cpm.getEarliestStarts(), "Earliest starts");
+        assertArrayEquals(new long[]{0, 3, 6, 7, 9}, cpm.getLatestStarts(), "Latest starts");
+        assertEquals(4, cpm.getSlack(2), "Vertex 2 can slip by 4");
+        assertFalse(cpm.isCritical(2));
+        assertArrayEquals(new int[]{0, 1, 3, 4}, cpm.getCriticalVertices());
+
+        int[][] edges = cpm.getCriticalEdges();
+        assertArrayEquals(new int[]{0, 1, 3}, edges[0], "Critical edge sources");
+        assertArrayEquals(new int[]{1, 3, 4}, edges[1], "Critical edge targets");
+        assertTrue(cpm.isCriticalEdge(0, 0));
+        assertFalse(cpm.isCriticalEdge(0, 1), "0 -> 2 has float");
+        assertTrue(metrics.getTimeMs("Critical Path Method") >= 0, "Time should be measured");
+    }
+
+    @Test
+    public void testMatchesLongestPathsOnRandomDAGs() {
+        Random random = new Random(31);
+        for (int round = 0; round < 10; round++) {
+            int n = 50 + random.nextInt(150);
+            Graph graph = new Graph(n, true);
+            graph.addEdge(0, 1, 1);
+            for (int v = 2; v < n; v++) {
+                graph.addEdge(random.nextInt(v), v, 1 + random.nextInt(20)); // everything reachable from 0
+            }
+            for (int i = 0; i < 2 * n; i++) {
+                int u = random.nextInt(n - 1);
+                graph.addEdge(u, u + 1 + random.nextInt(n - u - 1), 1 + random.nextInt(20));
+            }
+            CriticalPathMethod cpm = new CriticalPathMethod(graph, metrics);
+            cpm.compute();
+            DAGLongestPath longest = new DAGLongestPath(graph, 0, metrics);
+            longest.computeLongestPaths();
+
+            assertEquals(longest.getCriticalPathLength(), cpm.getProjectLength(), "Round " + round);
+            for (int u = 0; u < n; u++) {
+                assertEquals(longest.getDistance(u), cpm.getEarliestStart(u), "Single root: ES is the longest path");
+                assertTrue(cpm.getSlack(u) >= 0, "Float is never negative");
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    int v = graph.getEdgeTarget(u, i);
+                    int w = graph.getEdgeWeight(u, i);
+                    assertTrue(cpm.getLatestStart(u) + w <= cpm.getLatestStart(v), "Latest starts respect " + u + "->" + v);
+                    if (cpm.isCriticalEdge(u, i)) {
+                        assertTrue(cpm.isCritical(u) && cpm.isCritical(v), "Critical edges join critical vertices");
+                    }
+                }
+            }
+            assertTrue(cpm.getNumCriticalVertices() >= 2, "At least the start and the end are critical");
+        }
+    }
+
+    @Test
+    public void testRequiresCompute() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1, 1);
+        CriticalPathMethod cpm = new CriticalPathMethod(graph, metrics);
+        assertThrows(IllegalStateException.class, cpm::getProjectLength);
+    }
+}
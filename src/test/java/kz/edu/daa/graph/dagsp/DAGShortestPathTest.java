@@ -2,6 +2,7 @@ package kz.edu.daa.graph.dagsp;
 
 import kz.edu.daa.graph.model.Graph;
 import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.topo.TopologicalOrder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -114,4 +115,32 @@ public class DAGShortestPathTest {
         assertEquals(Long.MAX_VALUE, sp.getDistance(2), "Vertex 2 should be unreachable");
         assertEquals(Long.MAX_VALUE, sp.getDistance(3), "Vertex 3 should be unreachable");
     }
+
+    @Test
+    public void testCyclicGraphRejected() {
+        Graph cyclic = new Graph(3, true);
+        cyclic.addEdge(0, 1, 1);
+        cyclic.addEdge(1, 2, 1);
+        cyclic.addEdge(2, 1, 1);
+
+        DAGShortestPath sp = new DAGShortestPath(cyclic, 0, metrics);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, sp::computeShortestPaths);
+        assertTrue(e.getMessage().contains("[1, 2]"), "Message should name the cycle");
+    }
+
+    @Test
+    public void testSharedTopologicalOrder() {
+        TopologicalOrder order = TopologicalOrder.of(complexDAG, metrics);
+        long sortsBefore = metrics.getOperationCount("Queue removals");
+
+        DAGShortestPath sp = new DAGShortestPath(complexDAG, order, 0, metrics);
+        sp.computeShortestPaths();
+        DAGLongestPath lp = new DAGLongestPath(complexDAG, order, 0, metrics);
+        lp.computeLongestPaths();
+
+        assertEquals(sortsBefore, metrics.getOperationCount("Queue removals"), "No further topological sorts");
+        assertEquals(7, sp.getDistance(5));
+        assertEquals(9, lp.getDistance(5));
+        assertThrows(IllegalArgumentException.class, () -> new DAGShortestPath(simpleDAG, order, 0, metrics));
+    }
 }
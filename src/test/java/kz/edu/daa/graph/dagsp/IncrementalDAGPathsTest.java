@@ -0,0 +1,145 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.topo.DynamicTopologicalOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalDAGPathsTest {
+    private SimpleMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+    }
+
+    @Test
+    public void testWeightChangeReportsAffectedVertices() {
+        // 0->1(1) 0->2(4) 1->2(2) 1->3(1) 2->3(1), 4 is unreachable
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 4);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 1);
+        IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, 0, PathMode.SHORTEST, metrics);
+        assertEquals(3, paths.getDistance(2));
+        assertEquals(List.of(0, 1, 3), paths.getPath(3));
+
+        // 0->1 becomes 10: 1 and 2 get longer, 3 now goes through 2
+        int[] affected = paths.updateWeight(0, 0, 10);
+
+        assertArrayEquals(new int[]{1, 2, 3}, affected, "Changed vertices in topological order");
+        assertEquals(10, paths.getDistance(1));
+        assertEquals(4, paths.getDistance(2));
+        assertEquals(List.of(0, 2, 3), paths.getPath(3));
+        assertEquals(Long.MAX_VALUE, paths.getDistance(4));
+
+        assertArrayEquals(new int[0], paths.updateWeight(1, 1, 7), "1->3 is not on any shortest path");
+    }
+
+    @Test
+    public void testInsertionAndLongestPaths() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 2);
+        IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, 0, PathMode.LONGEST, metrics);
+        assertEquals(Long.MIN_VALUE, paths.getDistance(3));
+
+        assertArrayEquals(new int[]{3}, paths.addEdge(2, 3, 5));
+        assertEquals(9, paths.getDistance(3));
+
+        int[] affected = paths.addEdge(0, 2, 10);
+        assertArrayEquals(new int[]{2, 3}, affected);
+        assertEquals(15, paths.getDistance(3));
+        assertEquals(List.of(0, 2, 3), paths.getPath(3));
+
+        assertThrows(IllegalArgumentException.class, () -> paths.addEdge(3, 0, 1), "Cycles are rejected");
+        assertEquals(15, paths.getDistance(3), "A rejected edge changes nothing");
+    }
+
+    @Test
+    public void testMatchesFullRecomputationOnRandomUpdates() {
+        Random random = new Random(23);
+        for (PathMode mode : PathMode.values()) {
+            for (int round = 0; round < 5; round++) {
+                int n = 60 + random.nextInt(100);
+                Graph graph = new Graph(n, true);
+                for (int i = 0; i < 3 * n; i++) {
+                    int u = random.nextInt(n - 1);
+                    graph.addEdge(u, u + 1 + random.nextInt(n - u - 1), 1 + random.nextInt(4)); // ties on purpose
+                }
+                IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, 0, mode, metrics);
+
+                for (int step = 0; step < 200; step++) {
+                    DynamicTopologicalOrder dag = paths.getGraph();
+                    long[] before = snapshotDistances(paths, n);
+                    int[] beforePred = snapshotPredecessors(paths, n);
+                    int[] affected;
+                    if (random.nextBoolean()) {
+                        int u = random.nextInt(n);
+                        if (dag.getOutDegree(u) == 0) {
+                            continue;
+                        }
+                        affected = paths.updateWeight(u, random.nextInt(dag.getOutDegree(u)), 1 + random.nextInt(4));
+                    } else {
+                        int u = random.nextInt(n - 1);
+                        affected = paths.addEdge(u, u + 1 + random.nextInt(n - u - 1), 1 + random.nextInt(4));
+                    }
+
+                    IncrementalDAGPaths expected = new IncrementalDAGPaths(dag, 0, mode, new SimpleMetrics());
+                    int changed = 0;
+                    for (int v = 0; v < n; v++) {
+                        assertEquals(expected.getDistance(v), paths.getDistance(v), mode + " distance of " + v);
+                        assertEquals(expected.getPredecessor(v), paths.getPredecessor(v), mode + " predecessor of " + v);
+                        if (before[v] != paths.getDistance(v) || beforePred[v] != paths.getPredecessor(v)) {
+                            changed++;
+                        }
+                    }
+                    assertEquals(changed, affected.length, "Exactly the changed vertices should be reported");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDistancesMatchDAGShortestPath() {
+        Random random = new Random(4);
+        int n = 300;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < 1500; i++) {
+            int u = random.nextInt(n - 1);
+            graph.addEdge(u, u + 1 + random.nextInt(n - u - 1), 1 + random.nextInt(50));
+        }
+        IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, 0, PathMode.SHORTEST, metrics);
+        paths.updateWeight(0, 0, 1);
+
+        DAGShortestPath reference = new DAGShortestPath(paths.getGraph(), 0, metrics);
+        reference.computeShortestPaths();
+        for (int v = 0; v < n; v++) {
+            assertEquals(reference.getDistance(v), paths.getDistance(v), "Distance of " + v);
+        }
+    }
+
+    private static long[] snapshotDistances(IncrementalDAGPaths paths, int n) {
+        long[] distances = new long[n];
+        for (int v = 0; v < n; v++) {
+            distances[v] = paths.getDistance(v);
+        }
+        return distances;
+    }
+
+    private static int[] snapshotPredecessors(IncrementalDAGPaths paths, int n) {
+        int[] predecessors = new int[n];
+        for (int v = 0; v < n; v++) {
+            predecessors[v] = paths.getPredecessor(v);
+        }
+        return predecessors;
+    }
+}
@@ -0,0 +1,170 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KBestPathsTest {
+    private SimpleMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+    }
+
+    @Test
+    public void testAllPathsOfSmallDAG() {
+        // 0->1(1) 0->2(4) 1->2(2) 1->3(5) 2->3(1): three paths to 3
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 4);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(1, 3, 5);
+        graph.addEdge(2, 3, 1);
+
+        KBestPaths shortest = new KBestPaths(graph, 0, 10, PathMode.SHORTEST, metrics);
+        shortest.compute();
+        assertArrayEquals(new long[]{4, 5, 6}, shortest.getLengths(3));
+        assertEquals(List.of(0, 1, 2, 3), shortest.getPath(3, 0));
+        assertEquals(List.of(0, 2, 3), shortest.getPath(3, 1));
+        assertEquals(List.of(0, 1, 3), shortest.getPath(3, 2));
+        assertEquals(List.of(0), shortest.getPath(0, 0));
+
+        KBestPaths longest = new KBestPaths(graph, 0, 2, PathMode.LONGEST, metrics);
+        longest.compute();
+        assertArrayEquals(new long[]{6, 5}, longest.getLengths(3), "Only the best K are kept");
+        assertEquals(List.of(0, 1, 3), longest.getPath(3, 0));
+
+        // A parallel edge of equal weight adds no path, one of another weight does
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(2, 3, 7);
+        KBestPaths parallel = new KBestPaths(graph, 0, 10, PathMode.SHORTEST, metrics);
+        parallel.compute();
+        assertArrayEquals(new long[]{4, 5, 6, 10, 11}, parallel.getLengths(3));
+    }
+
+    @Test
+    public void testMatchesBruteForceEnumeration() {
+        Random random = new Random(25);
+        for (PathMode mode : PathMode.values()) {
+            for (int round = 0; round < 10; round++) {
+                int n = 8 + random.nextInt(10);
+                Graph graph = new Graph(n, true);
+                Set<Integer> edges = new HashSet<>();
+                for (int i = 0; i < 2 * n; i++) {
+                    int u = random.nextInt(n - 1);
+                    int v = u + 1 + random.nextInt(n - u - 1);
+                    if (edges.add(u * n + v)) { // no parallel edges, so a path is its vertex sequence
+                        graph.addEdge(u, v, 1 + random.nextInt(4)); // ties on purpose
+                    }
+                }
+                int source = random.nextInt(3);
+                int k = 1 + random.nextInt(6);
+                KBestPaths kBest = new KBestPaths(graph, source, k, mode, metrics);
+                kBest.compute();
+
+                for (int v = 0; v < n; v++) {
+                    Set<String> all = new HashSet<>();
+                    enumerate(graph, source, v, new ArrayList<>(List.of(source)), 0, all);
+                    List<Long> expected = new ArrayList<>();
+                    for (String path : all) {
+                        expected.add(Long.parseLong(path.substring(0, path.indexOf(' '))));
+                    }
+                    expected.sort(mode == PathMode.SHORTEST ? null : (a, b) -> Long.compare(b, a));
+
+                    long[] lengths = kBest.getLengths(v);
+                    assertEquals(Math.min(k, expected.size()), lengths.length, mode + " number of paths to " + v);
+                    Set<String> seen = new HashSet<>();
+                    for (int rank = 0; rank < lengths.length; rank++) {
+                        assertEquals(expected.get(rank), lengths[rank], mode + " rank " + rank + " to " + v);
+                        String path = lengths[rank] + " " + kBest.getPath(v, rank);
+                        assertTrue(all.contains(path), "Reconstructed path should exist: " + path);
+                        assertTrue(seen.add(path), "Paths should be distinct: " + path);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBestRankMatchesSinglePathAlgorithms() {
+        Random random = new Random(7);
+        int n = 2000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < 8000; i++) {
+            int u = random.nextInt(n - 1);
+            graph.addEdge(u, u + 1 + random.nextInt(Math.min(50, n - u - 1)), 1 + random.nextInt(100));
+        }
+        TopologicalOrder order = TopologicalOrder.of(graph, metrics);
+        DAGShortestPath shortest = new DAGShortestPath(graph, order, 0, metrics);
+        shortest.computeShortestPaths();
+        DAGLongestPath longest = new DAGLongestPath(graph, order, 0, metrics);
+        longest.computeLongestPaths();
+        KBestPaths kShortest = new KBestPaths(graph, order, 0, 20, PathMode.SHORTEST, metrics);
+        kShortest.compute();
+        KBestPaths kLongest = new KBestPaths(graph, order, 0, 20, PathMode.LONGEST, metrics);
+        kLongest.compute();
+
+        assertTrue(kLongest.getNumSlots() <= 20L * n, "At most K slots per vertex");
+        for (int v = 0; v < n; v++) {
+            if (shortest.getDistance(v) == Long.MAX_VALUE) {
+                assertEquals(0, kShortest.getNumPaths(v), "Unreachable vertex " + v);
+                continue;
+            }
+            assertEquals(shortest.getDistance(v), kShortest.getLength(v, 0), "Shortest distance of " + v);
+            assertEquals(longest.getDistance(v), kLongest.getLength(v, 0), "Longest distance of " + v);
+            long[] lengths = kLongest.getLengths(v);
+            for (int rank = 1; rank < lengths.length; rank++) {
+                assertTrue(lengths[rank - 1] >= lengths[rank], "Longest paths come best first");
+            }
+        }
+    }
+
+    @Test
+    public void testTopPathsOverSinks() {
+        // Two sinks: 3 (via 1 or 2) and 4 (directly)
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 3);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 3, 3);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(0, 4, 6);
+        KBestPaths kBest = new KBestPaths(graph, 0, 2, PathMode.LONGEST, metrics);
+        assertThrows(IllegalStateException.class, kBest::getTopPaths, "compute() must come first");
+        kBest.compute();
+
+        List<KBestPaths.RankedPath> top = kBest.getTopPaths();
+        assertEquals(2, top.size());
+        assertEquals(6, top.get(0).getLength());
+        assertEquals(List.of(0, 1, 3), kBest.getPath(top.get(0).getTarget(), top.get(0).getRank()),
+                "Ties go to the smaller target");
+        assertEquals(6, top.get(1).getLength());
+        assertEquals(List.of(0, 4), kBest.getPath(top.get(1).getTarget(), top.get(1).getRank()));
+
+        assertThrows(IllegalArgumentException.class, () -> kBest.getPath(4, 1));
+        assertThrows(IllegalArgumentException.class, () -> new KBestPaths(graph, 0, 0, PathMode.LONGEST, metrics));
+    }
+
+    // All source -> target paths as "length [vertices]"
+    private static void enumerate(Graph graph, int vertex, int target, List<Integer> path, long length, Set<String> out) {
+        if (vertex == target) {
+            out.add(length + " " + path);
+        }
+        for (int i = 0; i < graph.getOutDegree(vertex); i++) {
+            int next = graph.getEdgeTarget(vertex, i);
+            path.add(next);
+            enumerate(graph, next, target, path, length + graph.getEdgeWeight(vertex, i), out);
+            path.remove(path.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package kz.edu.daa.graph.dagsp;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.topo.TopologicalOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WavefrontRelaxationTest {
+    private SimpleMetrics metrics;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    // Wide layers (5000 vertices) so levels are split into parallel chunks; small weights force ties
+    private static Graph wideLayeredDAG(long seed) {
+        Random random = new Random(seed);
+        int layers = 6;
+        int width = 5000;
+        Graph graph = new Graph(layers * width, true);
+        for (int layer = 0; layer + 1 < layers; layer++) {
+            for (int i = 0; i < 3 * width; i++) {
+                int u = layer * width + random.nextInt(width);
+                int v = (layer + 1) * width + random.nextInt(width);
+                graph.addEdge(u, v, 1 + random.nextInt(3));
+            }
+        }
+        for (int v = 1; v < width; v++) {
+            graph.addEdge(0, v == 1 ? width : v * 7 % width + width, 1); // the source reaches most of layer 1
+        }
+        return graph;
+    }
+
+    @Test
+    public void testShortestPathsIdenticalToSequential() {
+        Graph graph = wideLayeredDAG(1);
+        TopologicalOrder order = TopologicalOrder.of(graph, metrics);
+
+        DAGShortestPath sequential = new DAGShortestPath(graph, order, 0, metrics);
+        sequential.computeShortestPaths();
+        SimpleMetrics parallelMetrics = new SimpleMetrics();
+        DAGShortestPath parallel = new DAGShortestPath(graph, order, 0, parallelMetrics);
+        parallel.computeShortestPaths(pool);
+
+        int reached = 0;
+        for (int v = 0; v < graph.getNumVertices(); v++) {
+            assertEquals(sequential.getDistance(v), parallel.getDistance(v), "Distance of " + v);
+            assertEquals(sequential.getPath(v), parallel.getPath(v), "Path to " + v);
+            if (v != 0 && parallel.getDistance(v) != Long.MAX_VALUE) {
+                reached++;
+            }
+        }
+        assertEquals(reached, parallelMetrics.getOperationCount("Distance updates"),
+                "One final write per reached vertex");
+        assertTrue(reached <= metrics.getOperationCount("Distance updates"),
+                "The sequential sweep may improve a vertex more than once");
+    }
+
+    @Test
+    public void testLongestPathsIdenticalToSequential() {
+        Graph graph = wideLayeredDAG(2);
+        TopologicalOrder order = TopologicalOrder.of(graph, metrics);
+
+        DAGLongestPath sequential = new DAGLongestPath(graph, order, 0, metrics);
+        sequential.computeLongestPaths();
+        DAGLongestPath parallel = new DAGLongestPath(graph, order, 0, metrics);
+        parallel.computeLongestPaths(new WavefrontRelaxation(graph, order, pool));
+
+        for (int v = 0; v < graph.getNumVertices(); v++) {
+            assertEquals(sequential.getDistance(v), parallel.getDistance(v), "Distance of " + v);
+            assertEquals(sequential.getPath(v), parallel.getPath(v), "Path to " + v);
+        }
+    }
+
+    @Test
+    public void testSharedWavefrontIsDeterministicAcrossSources() {
+        Graph graph = wideLayeredDAG(3);
+        WavefrontRelaxation wavefront = new WavefrontRelaxation(graph, pool);
+        assertEquals(6, wavefront.getNumLevels());
+
+        int n = graph.getNumVertices();
+        for (int source : new int[]{0, 17, 5003}) {
+            long[] first = new long[n];
+            int[] firstPred = new int[n];
+            wavefront.relax(source, PathMode.SHORTEST, first, firstPred);
+            long[] second = new long[n];
+            int[] secondPred = new int[n];
+            wavefront.relax(source, PathMode.SHORTEST, second, secondPred);
+
+            assertArrayEquals(first, second, "Distances from " + source);
+            assertArrayEquals(firstPred, secondPred, "Predecessors from " + source);
+            assertEquals(0, first[source]);
+            assertEquals(Long.MAX_VALUE, first[source == 0 ? 1 : 0], "Same or earlier level is unreachable");
+        }
+    }
+
+    @Test
+    public void testRejectsCyclesAndForeignWavefronts() {
+        Graph cyclic = new Graph(3, true);
+        cyclic.addEdge(0, 1, 1);
+        cyclic.addEdge(1, 2, 1);
+        cyclic.addEdge(2, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new WavefrontRelaxation(cyclic, pool));
+
+        Graph dag = new Graph(3, true);
+        dag.addEdge(0, 1, 1);
+        WavefrontRelaxation other = new WavefrontRelaxation(wideLayeredDAG(4), pool);
+        assertThrows(IllegalArgumentException.class,
+                () -> new DAGShortestPath(dag, 0, metrics).computeShortestPaths(other));
+    }
+}
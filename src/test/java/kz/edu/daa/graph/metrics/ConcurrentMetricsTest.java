@@ -0,0 +1,80 @@
+package kz.edu.daa.graph.metrics;
+
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.scc.TarjanSCC;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentMetricsTest {
+    private ConcurrentMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new ConcurrentMetrics();
+    }
+
+    @Test
+    public void testCounterHandleAndNameShareValue() {
+        Counter counter = metrics.counter("Edges explored");
+        counter.increment();
+        counter.add(4);
+        metrics.incrementOperations("Edges explored");
+
+        assertEquals(6, metrics.getOperationCount("Edges explored"));
+        assertEquals(0, metrics.getOperationCount("Unknown"));
+    }
+
+    @Test
+    public void testConcurrentIncrementsAreNotLost() throws InterruptedException {
+        Counter counter = metrics.counter("Shared");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    counter.increment();
+                    metrics.addTime("Phase", 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800_000, metrics.getOperationCount("Shared"));
+        assertEquals(800_000, metrics.getTimeNano("Phase"));
+    }
+
+    @Test
+    public void testResetKeepsHandlesAttached() {
+        Counter counter = metrics.counter("Ops");
+        counter.add(3);
+        metrics.reset();
+        counter.increment();
+
+        assertEquals(1, metrics.getOperationCount("Ops"));
+    }
+
+    @Test
+    public void testSameCountsAsSimpleMetrics() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+        graph.addEdge(2, 3, 1);
+        SimpleMetrics simple = new SimpleMetrics();
+
+        new TarjanSCC(graph, simple).findSCCs();
+        new TarjanSCC(graph, metrics).findSCCs();
+
+        for (String op : new String[]{"DFS visits", "Edges explored", "SCCs found"}) {
+            assertEquals(simple.getOperationCount(op), metrics.getOperationCount(op), op);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package kz.edu.daa.graph.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v * 1_000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax(), "Max should be exact");
+        assertEquals(1_000, histogram.getMin(), "Min should be exact");
+        assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 * 0.04, "p50 off by more than bucket error");
+        assertEquals(90_000_000, histogram.getValueAtPercentile(90), 90_000_000 * 0.04, "p90 off by more than bucket error");
+        assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 * 0.04, "p99 off by more than bucket error");
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100), "p100 should equal max");
+    }
+
+    @Test
+    public void testOutlierVisibleOnlyInTail() {
+        for (int i = 0; i < 999; i++) {
+            histogram.record(10);
+        }
+        histogram.record(1_000_000_000L);
+
+        assertEquals(10, histogram.getValueAtPercentile(99), "Small values are bucketed exactly");
+        assertEquals(1_000_000_000L, histogram.getValueAtPercentile(99.95));
+    }
+
+    @Test
+    public void testBucketsCoverWholeRange() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1_000_003, Long.MAX_VALUE};
+        for (long v : values) {
+            int bucket = LatencyHistogram.bucketOf(v);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= v, "Upper bound below value " + v);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.upperBoundOf(bucket - 1) < v, "Value " + v + " in wrong bucket");
+            }
+        }
+    }
+
+    @Test
+    public void testMergeMatchesSingleHistogram() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        for (long v = 0; v < 10_000; v++) {
+            histogram.record(v * 37);
+            (v % 2 == 0 ? a : b).record(v * 37);
+        }
+        a.merge(b);
+
+        assertEquals(histogram.getCount(), a.getCount());
+        assertEquals(histogram.getMax(), a.getMax());
+        for (double p : new double[]{50, 90, 99}) {
+            assertEquals(histogram.getValueAtPercentile(p), a.getValueAtPercentile(p), "Merged p" + p);
+        }
+    }
+
+    @Test
+    public void testHistogramMetricsRecordsPerPhase() {
+        SimpleMetrics delegate = new SimpleMetrics();
+        HistogramMetrics metrics = new HistogramMetrics(delegate, new PhaseHistograms());
+        metrics.addTime("Kahn", 100);
+        metrics.addTime("Kahn", 300);
+        metrics.addTime("Tarjan SCC", 50);
+        metrics.incrementOperations("Edges explored");
+
+        assertEquals(400, delegate.getTimeNano("Kahn"), "Delegate still sums times");
+        assertEquals(1, metrics.getOperationCount("Edges explored"));
+        assertEquals(2, metrics.getHistograms().histogram("Kahn").getCount());
+        assertEquals(300, metrics.getHistograms().histogram("Kahn").getMax());
+        assertEquals(List.of("Kahn", "Tarjan SCC"), metrics.getHistograms().getPhases());
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+    }
+}
@@ -0,0 +1,54 @@
+package kz.edu.daa.graph.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsFactoryTest {
+
+    @Test
+    public void testSpecSelectsImplementation() {
+        assertTrue(MetricsFactory.create("simple") instanceof SimpleMetrics);
+        assertTrue(MetricsFactory.create("concurrent") instanceof ConcurrentMetrics);
+        assertSame(NoOpMetrics.INSTANCE, MetricsFactory.create("off"));
+        assertSame(NoOpMetrics.INSTANCE, MetricsFactory.create("NOOP"));
+        assertEquals(16, ((SamplingMetrics) MetricsFactory.create("sample:16")).getSampleRate());
+        assertEquals(0, ((SamplingMetrics) MetricsFactory.create("timing")).getSampleRate());
+        assertThrows(IllegalArgumentException.class, () -> MetricsFactory.create("verbose"));
+        assertThrows(IllegalArgumentException.class, () -> MetricsFactory.create("sample:x"));
+    }
+
+    @Test
+    public void testNoOpRecordsNothing() {
+        Metrics metrics = NoOpMetrics.INSTANCE;
+        metrics.counter("Ops").increment();
+        metrics.addTime("Phase", 100);
+
+        assertEquals(0, metrics.getOperationCount("Ops"));
+        assertEquals(0, metrics.getTimeNano("Phase"));
+    }
+
+    @Test
+    public void testSamplingEstimatesCounts() {
+        SamplingMetrics metrics = SamplingMetrics.everyNth(10);
+        Counter counter = metrics.counter("Ops");
+        for (int i = 0; i < 1_005; i++) {
+            counter.increment();
+        }
+        metrics.addTime("Phase", 42);
+
+        assertEquals(1_000, metrics.getOperationCount("Ops"), "Estimate is within one sample period");
+        assertEquals(42, metrics.getTimeNano("Phase"), "Timings are exact");
+    }
+
+    @Test
+    public void testTimingsOnlySkipsCounters() {
+        SamplingMetrics metrics = SamplingMetrics.timingsOnly();
+        metrics.counter("Ops").increment();
+        metrics.incrementOperations("Ops");
+        metrics.addTime("Phase", 7);
+
+        assertEquals(0, metrics.getOperationCount("Ops"));
+        assertEquals(7, metrics.getTimeNano("Phase"));
+    }
+}
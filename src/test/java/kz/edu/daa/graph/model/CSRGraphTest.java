@@ -0,0 +1,149 @@
+package kz.edu.daa.graph.model;
+
+import kz.edu.daa.graph.dagsp.DAGLongestPath;
+import kz.edu.daa.graph.dagsp.DAGShortestPath;
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.scc.TarjanSCC;
+import kz.edu.daa.graph.topo.KahnAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSRGraphTest {
+    private Graph graph;
+    private SimpleMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+
+        // 0->1(1) 0->2(4) 1->2(2) 1->3(1) 2->3(1) 3->1(5)
+        graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 4);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 1, 5);
+    }
+
+    @Test
+    public void testFromGraphPreservesAdjacency() {
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        assertEquals(graph.getNumVertices(), csr.getNumVertices());
+        assertEquals(graph.getNumEdges(), csr.getNumEdges());
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            assertEquals(graph.getOutDegree(u), csr.getOutDegree(u), "Out-degree of " + u);
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertEquals(graph.getEdgeTarget(u, i), csr.getEdgeTarget(u, i));
+                assertEquals(graph.getEdgeWeight(u, i), csr.getEdgeWeight(u, i));
+            }
+        }
+    }
+
+    @Test
+    public void testBuilderKeepsInsertionOrder() {
+        CSRGraph csr = new CSRGraph.Builder(3, true)
+                .addEdge(2, 0, 7)
+                .addEdge(0, 2, 3)
+                .addEdge(0, 1, 9)
+                .build();
+
+        assertEquals(3, csr.getNumEdges());
+        assertEquals(2, csr.getOutDegree(0));
+        assertEquals(2, csr.getEdgeTarget(0, 0), "First inserted edge of 0 should come first");
+        assertEquals(1, csr.getEdgeTarget(0, 1));
+        assertEquals(9, csr.getEdgeWeight(0, 1));
+        assertEquals(0, csr.getOutDegree(1));
+        assertEquals(0, csr.getEdgeTarget(2, 0));
+    }
+
+    @Test
+    public void testUndirectedBuilderStoresBothDirections() {
+        CSRGraph csr = new CSRGraph.Builder(2, false).addEdge(0, 1, 4).build();
+
+        assertEquals(1, csr.getNumEdges(), "Undirected edge should be counted once");
+        assertEquals(1, csr.getEdgeTarget(0, 0));
+        assertEquals(0, csr.getEdgeTarget(1, 0));
+    }
+
+    @Test
+    public void testInvalidVertexRejected() {
+        CSRGraph.Builder builder = new CSRGraph.Builder(2, true);
+        assertThrows(IllegalArgumentException.class, () -> builder.addEdge(0, 2, 1));
+    }
+
+    @Test
+    public void testForEachEdgeMatchesIndexedAccess() {
+        // Only the indexed methods, so forEachEdge falls back to the interface default
+        AdjacencyGraph indexed = new AdjacencyGraph() {
+            @Override public int getNumVertices() { return graph.getNumVertices(); }
+            @Override public int getNumEdges() { return graph.getNumEdges(); }
+            @Override public boolean isDirected() { return graph.isDirected(); }
+            @Override public int getOutDegree(int vertex) { return graph.getOutDegree(vertex); }
+            @Override public int getEdgeTarget(int vertex, int index) { return graph.getEdgeTarget(vertex, index); }
+            @Override public int getEdgeWeight(int vertex, int index) { return graph.getEdgeWeight(vertex, index); }
+        };
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                expected.add(graph.getEdgeTarget(u, i));
+                expected.add(graph.getEdgeWeight(u, i));
+            }
+            for (AdjacencyGraph layout : new AdjacencyGraph[]{graph, csr, indexed}) {
+                List<Integer> visited = new ArrayList<>();
+                layout.forEachEdge(u, (to, weight) -> {
+                    visited.add(to);
+                    visited.add(weight);
+                });
+                assertEquals(expected, visited, layout.getClass().getSimpleName() + " edges of " + u);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> graph.forEachEdge(5, (to, weight) -> { }));
+    }
+
+    @Test
+    public void testEdgesViewIsUnmodifiable() {
+        List<Edge> view = graph.getEdgesView(1);
+
+        assertEquals(2, view.size());
+        assertEquals(2, view.get(0).getTo());
+        assertEquals(3, view.get(1).getTo());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(new Edge(1, 4, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        graph.addEdge(1, 4, 7);
+        assertEquals(3, view.size(), "A view, not a copy");
+        assertThrows(IllegalArgumentException.class, () -> graph.getEdgesView(-1));
+    }
+
+    @Test
+    public void testAlgorithmsMatchOnBothLayouts() {
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        assertEquals(new TarjanSCC(graph, metrics).findSCCs(), new TarjanSCC(csr, metrics).findSCCs());
+
+        Graph dag = new Graph(4, true);
+        dag.addEdge(0, 1, 1);
+        dag.addEdge(0, 2, 4);
+        dag.addEdge(1, 2, 2);
+        dag.addEdge(2, 3, 1);
+        CSRGraph csrDag = CSRGraph.fromGraph(dag);
+
+        assertEquals(new KahnAlgorithm(dag, metrics).sort(), new KahnAlgorithm(csrDag, metrics).sort());
+
+        DAGShortestPath sp = new DAGShortestPath(csrDag, 0, metrics);
+        sp.computeShortestPaths();
+        assertEquals(4, sp.getDistance(3));
+
+        DAGLongestPath lp = new DAGLongestPath(csrDag, 0, metrics);
+        lp.computeLongestPaths();
+        assertEquals(5, lp.getDistance(3));
+    }
+}
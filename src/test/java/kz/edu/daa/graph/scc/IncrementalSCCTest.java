@@ -0,0 +1,192 @@
+package kz.edu.daa.graph.scc;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Edge;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.topo.KahnAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalSCCTest {
+    private SimpleMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+    }
+
+    @Test
+    public void testInsertionClosingCycleMergesComponents() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 4, 1);
+        IncrementalSCC scc = new IncrementalSCC(graph, metrics);
+        assertEquals(5, scc.getNumComponents());
+
+        assertFalse(scc.addEdge(0, 2, 1), "A forward edge should not merge anything");
+        assertTrue(scc.addEdge(3, 1, 1), "3 -> 1 closes the cycle 1 -> 2 -> 3");
+
+        assertEquals(3, scc.getNumComponents());
+        assertTrue(scc.isSameComponent(1, 3));
+        assertTrue(scc.isSameComponent(2, 3));
+        assertFalse(scc.isSameComponent(0, 1));
+        assertEquals(List.of(1, 2, 3), sorted(scc.getVerticesInComponent(2)));
+
+        Graph dag = scc.getCondensationDAG();
+        assertEquals(3, dag.getNumVertices());
+        assertEquals(2, dag.getNumEdges(), "0 -> {1,2,3} -> 4, the parallel 0 -> 1 and 0 -> 2 collapse");
+        assertEquals(2, metrics.getOperationCount("SCC merges"), "Two components should join the third");
+    }
+
+    @Test
+    public void testMatchesRecomputationOnRandomInsertions() {
+        Random random = new Random(5);
+        for (int round = 0; round < 10; round++) {
+            int n = 30 + random.nextInt(120);
+            Graph graph = new Graph(n, true);
+            for (int i = 0; i < n / 2; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(9));
+            }
+            IncrementalSCC incremental = new IncrementalSCC(graph, metrics);
+
+            for (int step = 0; step < 2 * n; step++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                int w = 1 + random.nextInt(9);
+                graph.addEdge(u, v, w);
+                incremental.addEdge(u, v, w);
+
+                if (step % 10 == 0) {
+                    assertMatchesRecompute(graph, incremental, "round " + round + " step " + step);
+                }
+            }
+            assertMatchesRecompute(graph, incremental, "round " + round);
+        }
+    }
+
+    @Test
+    public void testBatchAndRebuildAgree() {
+        Random random = new Random(9);
+        int n = 200;
+        Graph graph = chain(n);
+        IncrementalSCC perEdge = new IncrementalSCC(graph, metrics);
+        IncrementalSCC batched = new IncrementalSCC(graph, metrics);
+
+        int[] from = new int[100];
+        int[] to = new int[100];
+        int[] weights = new int[100];
+        for (int i = 0; i < from.length; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            weights[i] = 1 + random.nextInt(5);
+            perEdge.addEdge(from[i], to[i], weights[i]);
+        }
+        batched.addEdges(from, to, weights); // 100 edges on 199: recomputed
+
+        assertEquals(1, metrics.getOperationCount("SCC rebuilds"), "A large batch should recompute once");
+        assertEquals(normalize(perEdge.getComponents()), normalize(batched.getComponents()));
+        assertEquals(edgeSet(perEdge.getCondensationDAG(ParallelEdgePolicy.MIN), perEdge.getComponents()),
+                edgeSet(batched.getCondensationDAG(ParallelEdgePolicy.MIN), batched.getComponents()));
+    }
+
+    @Test
+    public void testInvalidBatchChangesNothing() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        IncrementalSCC scc = new IncrementalSCC(graph, metrics);
+
+        // Large enough for the recompute path; the last edge is out of range
+        assertThrows(IllegalArgumentException.class,
+                () -> scc.addEdges(new int[]{1, 2, 3}, new int[]{2, 0, 9}, new int[]{1, 1, 1}));
+
+        assertEquals(1, scc.getGraph().getNumEdges(), "No edge of a rejected batch is inserted");
+        assertEquals(4, scc.getNumComponents());
+        assertTrue(scc.addEdges(new int[]{1, 2}, new int[]{2, 0}, new int[]{1, 1}), "The graph is still consistent");
+        assertEquals(2, scc.getNumComponents());
+    }
+
+    @Test
+    public void testComponentsAreInTopologicalOrder() {
+        Random random = new Random(3);
+        int n = 300;
+        IncrementalSCC scc = new IncrementalSCC(new Graph(n, true), metrics);
+        for (int i = 0; i < 600; i++) {
+            scc.addEdge(random.nextInt(n), random.nextInt(n), 1);
+
+            Graph dag = scc.getCondensationDAG();
+            for (int c = 0; c < dag.getNumVertices(); c++) {
+                for (Edge edge : dag.getEdgesView(c)) {
+                    assertTrue(edge.getFrom() < edge.getTo(), "Condensation edges should point forward");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUndirectedInsertionJoinsBothWays() {
+        IncrementalSCC scc = new IncrementalSCC(new Graph(4, false), metrics);
+        assertTrue(scc.addEdge(0, 1, 1));
+        assertTrue(scc.addEdge(2, 3, 1));
+        assertEquals(2, scc.getNumComponents());
+        assertEquals(0, scc.getCondensationDAG().getNumEdges());
+    }
+
+    private void assertMatchesRecompute(Graph graph, IncrementalSCC incremental, String label) {
+        List<List<Integer>> sccs = new TarjanSCC(graph, new SimpleMetrics()).findSCCs();
+        assertEquals(normalize(sccs), normalize(incremental.getComponents()), label + ": components");
+
+        CondensationGraph condensation = new CondensationGraph(graph, sccs);
+        // FIRST differs by design: here it is the earliest inserted edge, not the first in vertex order
+        for (ParallelEdgePolicy policy : List.of(ParallelEdgePolicy.MIN, ParallelEdgePolicy.MAX)) {
+            List<List<Integer>> expectedSccs = new ArrayList<>();
+            for (int i = 0; i < condensation.getNumSCCs(); i++) {
+                expectedSccs.add(condensation.getVerticesInSCC(i));
+            }
+            assertEquals(edgeSet(condensation.getCondensationDAG(policy), expectedSccs),
+                    edgeSet(incremental.getCondensationDAG(policy), incremental.getComponents()),
+                    label + ": " + policy + " condensation");
+        }
+        assertTrue(new KahnAlgorithm(incremental.getCondensationDAG(), new SimpleMetrics()).sortWithResult().isDAG(),
+                label + ": condensation should stay acyclic");
+    }
+
+    // Edges keyed by the smallest vertex of each endpoint SCC, so component numbering does not matter
+    private static Set<String> edgeSet(Graph dag, List<List<Integer>> components) {
+        Set<String> edges = new HashSet<>();
+        for (int c = 0; c < dag.getNumVertices(); c++) {
+            for (Edge edge : dag.getEdgesView(c)) {
+                edges.add(Collections.min(components.get(c)) + "->"
+                        + Collections.min(components.get(edge.getTo())) + ":" + edge.getWeight());
+            }
+        }
+        return edges;
+    }
+
+    private static Set<List<Integer>> normalize(List<List<Integer>> sccs) {
+        Set<List<Integer>> result = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            result.add(sorted(scc));
+        }
+        return result;
+    }
+
+    private static List<Integer> sorted(List<Integer> vertices) {
+        List<Integer> copy = new ArrayList<>(vertices);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    private static Graph chain(int n) {
+        Graph graph = new Graph(n, true);
+        for (int v = 0; v + 1 < n; v++) {
+            graph.addEdge(v, v + 1, 1);
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,109 @@
+package kz.edu.daa.graph.scc;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.model.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSCCTest {
+    private SimpleMetrics metrics;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+        pool = new ForkJoinPool(4);
+    }
+
+    @Test
+    public void testMatchesTarjanOnRandomGraphs() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int n = 50 + random.nextInt(200);
+            Graph graph = new Graph(n, true);
+            int m = n + random.nextInt(2 * n);
+            for (int i = 0; i < m; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), 1);
+            }
+
+            List<List<Integer>> expected = normalize(new TarjanSCC(graph, metrics).findSCCs());
+            // Threshold 1 forces the forward-backward path instead of the Tarjan fallback
+            List<List<Integer>> actual = new ParallelSCC(graph, metrics, pool, 1).findSCCs();
+
+            assertEquals(expected, actual, "Round " + round + " should match Tarjan");
+        }
+    }
+
+    @Test
+    public void testOutputIsSortedAndDeterministic() {
+        Graph graph = new Graph(6, true);
+        graph.addEdge(5, 4, 1);
+        graph.addEdge(4, 5, 1);
+        graph.addEdge(3, 2, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(4, 3, 1);
+        graph.addEdge(1, 0, 1);
+
+        List<List<Integer>> sccs = new ParallelSCC(graph, metrics, pool, 1).findSCCs();
+
+        assertEquals(List.of(List.of(0), List.of(1), List.of(2, 3), List.of(4, 5)), sccs);
+        assertTrue(metrics.getTimeMs("Parallel SCC") >= 0, "Time should be measured");
+    }
+
+    @Test
+    public void testCondensationAcceptsParallelResult() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 3);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 2, 1);
+        graph.addEdge(3, 4, 2);
+
+        CondensationGraph condensation = new CondensationGraph(graph, new ParallelSCC(graph, metrics, pool).findSCCs());
+
+        assertEquals(3, condensation.getNumSCCs());
+        assertEquals(2, condensation.getCondensationDAG().getNumEdges());
+        assertEquals(condensation.getSCCOfVertex(0), condensation.getSCCOfVertex(1));
+    }
+
+    @Test
+    public void testParallelCondensationMatchesSequential() {
+        // Large enough to be split into several chunks
+        Random random = new Random(11);
+        int n = 100_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i < 4 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextBoolean() ? random.nextInt(n) : Math.min(n - 1, u + 1 + random.nextInt(50));
+            builder.addEdge(u, v, 1 + random.nextInt(100));
+        }
+        CSRGraph graph = builder.build();
+        List<List<Integer>> sccs = new TarjanSCC(graph, metrics).findSCCs();
+
+        CondensationGraph sequential = new CondensationGraph(graph, sccs);
+        CondensationGraph parallel = new CondensationGraph(graph, sccs, ParallelEdgePolicy.FIRST, pool);
+
+        for (ParallelEdgePolicy policy : ParallelEdgePolicy.values()) {
+            assertEquals(sequential.getCondensationDAG(policy).toString(),
+                    parallel.getCondensationDAG(policy).toString(), "DAGs should be identical for " + policy);
+        }
+    }
+
+    private static List<List<Integer>> normalize(List<List<Integer>> sccs) {
+        List<List<Integer>> result = new ArrayList<>();
+        for (List<Integer> scc : sccs) {
+            List<Integer> sorted = new ArrayList<>(scc);
+            Collections.sort(sorted);
+            result.add(sorted);
+        }
+        result.sort(Comparator.comparingInt(scc -> scc.get(0)));
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package kz.edu.daa.graph.scc;
 
+import kz.edu.daa.graph.model.CSRGraph;
 import kz.edu.daa.graph.model.Graph;
 import kz.edu.daa.graph.metrics.SimpleMetrics;
 import org.junit.jupiter.api.BeforeEach;
@@ -99,4 +100,58 @@ public class SCCTopologicalTest {
         assertTrue(condGraph.getCondensationDAG().getNumEdges() > 0,
                 "Condensation DAG should have edges");
     }
+
+    @Test
+    public void testDeepChainDoesNotOverflowStack() {
+        // A 1M-vertex path would overflow a recursive DFS with the default stack
+        int n = 1_000_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i + 1 < n; i++) {
+            builder.addEdge(i, i + 1, 1);
+        }
+
+        List<List<Integer>> sccs = new TarjanSCC(builder.build(), metrics).findSCCs();
+
+        assertEquals(n, sccs.size(), "Every vertex of a chain is its own SCC");
+        assertEquals(n - 1, sccs.get(0).get(0), "Tarjan emits the sink component first");
+    }
+
+    @Test
+    public void testDeepCycleIsOneSCC() {
+        int n = 1_000_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i < n; i++) {
+            builder.addEdge(i, (i + 1) % n, 1);
+        }
+
+        List<List<Integer>> sccs = new TarjanSCC(builder.build(), metrics).findSCCs();
+
+        assertEquals(1, sccs.size(), "A single long cycle is one SCC");
+        assertEquals(n, sccs.get(0).size());
+    }
+
+    @Test
+    public void testParallelInterSCCEdgePolicies() {
+        // SCC {0,1} has three edges into SCC {2,3} with weights 5, 2 and 9
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 2, 1);
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(1, 3, 2);
+        graph.addEdge(1, 2, 9);
+
+        List<List<Integer>> sccs = new TarjanSCC(graph, metrics).findSCCs();
+        CondensationGraph condGraph = new CondensationGraph(graph, sccs);
+        int from = condGraph.getSCCOfVertex(0);
+
+        assertEquals(1, condGraph.getCondensationDAG().getNumEdges(), "Parallel edges should be merged");
+        assertEquals(5, condGraph.getCondensationDAG(ParallelEdgePolicy.FIRST).getEdgeWeight(from, 0));
+        assertEquals(2, condGraph.getCondensationDAG(ParallelEdgePolicy.MIN).getEdgeWeight(from, 0));
+        assertEquals(9, condGraph.getCondensationDAG(ParallelEdgePolicy.MAX).getEdgeWeight(from, 0));
+
+        CondensationGraph maxGraph = new CondensationGraph(graph, sccs, ParallelEdgePolicy.MAX);
+        assertEquals(9, maxGraph.getCondensationDAG().getEdgeWeight(from, 0), "Constructor policy is the default");
+    }
 }
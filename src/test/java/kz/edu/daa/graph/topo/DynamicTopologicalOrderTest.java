@@ -0,0 +1,92 @@
+package kz.edu.daa.graph.topo;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicTopologicalOrderTest {
+    private SimpleMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+    }
+
+    @Test
+    public void testBackwardEdgeRepairsOrder() {
+        // 0 -> 1 -> 2, 3 -> 4; Kahn puts 3 before 1
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(3, 4, 1);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph, metrics);
+
+        order.addEdge(2, 3, 5);
+
+        assertValid(order, "after 2 -> 3");
+        assertEquals(4, order.getNumEdges());
+        assertEquals(5, order.getEdgeWeight(2, 0), "Inserted edge should keep its weight");
+        assertEquals(2, order.getInEdgeSource(3, 0));
+    }
+
+    @Test
+    public void testCycleIsRejectedWithoutChanges() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph, metrics);
+        int[] before = order.snapshot().toArray();
+
+        assertFalse(order.canAddEdge(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> order.addEdge(3, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> order.addEdge(2, 2, 1));
+
+        assertArrayEquals(before, order.snapshot().toArray(), "A rejected edge must not move vertices");
+        assertEquals(3, order.getNumEdges(), "A rejected edge must not be stored");
+        assertTrue(order.canAddEdge(0, 3));
+        assertFalse(order.addEdge(0, 3, 1), "A forward edge needs no repair");
+    }
+
+    @Test
+    public void testRandomInsertionsKeepOrderValid() {
+        Random random = new Random(17);
+        for (int round = 0; round < 10; round++) {
+            int n = 50 + random.nextInt(200);
+            DynamicTopologicalOrder order = new DynamicTopologicalOrder(new Graph(n, true), metrics);
+            int rejected = 0;
+
+            for (int i = 0; i < 3 * n; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (order.canAddEdge(u, v)) {
+                    order.addEdge(u, v, 1);
+                } else {
+                    rejected++;
+                    assertThrows(IllegalArgumentException.class, () -> order.addEdge(u, v, 1));
+                }
+            }
+
+            assertValid(order, "round " + round);
+            assertTrue(rejected > 0, "Dense random insertions should hit some cycles");
+            assertTrue(new KahnAlgorithm(order, metrics).sortWithResult().isDAG(), "Stored edges stay acyclic");
+        }
+    }
+
+    private static void assertValid(DynamicTopologicalOrder order, String label) {
+        for (int i = 0; i < order.getNumVertices(); i++) {
+            assertEquals(i, order.positionOf(order.vertexAt(i)), label + ": positions and order disagree");
+        }
+        for (int u = 0; u < order.getNumVertices(); u++) {
+            for (int i = 0; i < order.getOutDegree(u); i++) {
+                int v = order.getEdgeTarget(u, i);
+                assertTrue(order.positionOf(u) < order.positionOf(v), label + ": edge " + u + " -> " + v);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package kz.edu.daa.graph.topo;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.model.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KahnAlgorithmTest {
+    private Graph diamond;
+    private SimpleMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new SimpleMetrics();
+
+        // Diamond: 0->1, 0->2, 1->3, 2->3, plus 3->4
+        diamond = new Graph(5, true);
+        diamond.addEdge(0, 1, 1);
+        diamond.addEdge(0, 2, 1);
+        diamond.addEdge(1, 3, 1);
+        diamond.addEdge(2, 3, 1);
+        diamond.addEdge(3, 4, 1);
+    }
+
+    @Test
+    public void testSequentialOrder() {
+        KahnAlgorithm kahn = new KahnAlgorithm(diamond, metrics);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), kahn.sort());
+        assertTrue(kahn.isValidDAG());
+        assertEquals(5, metrics.getOperationCount("Queue removals"));
+        assertEquals(5, metrics.getOperationCount("Edge relaxations"));
+    }
+
+    @Test
+    public void testCycleWitness() {
+        // 0 -> 1 -> 2 -> 3 -> 1, and 3 -> 4 hangs behind the cycle
+        Graph cyclic = new Graph(5, true);
+        cyclic.addEdge(0, 1, 1);
+        cyclic.addEdge(1, 2, 1);
+        cyclic.addEdge(2, 3, 1);
+        cyclic.addEdge(3, 1, 1);
+        cyclic.addEdge(3, 4, 1);
+
+        TopologicalSortResult result = new KahnAlgorithm(cyclic, metrics).sortWithResult();
+
+        assertFalse(result.isDAG());
+        assertEquals(List.of(0), result.getOrder(), "Only vertices before the cycle are ordered");
+        assertEquals(List.of(1, 2, 3), result.getCycle());
+    }
+
+    @Test
+    public void testDAGHasNoCycle() {
+        TopologicalSortResult result = new KahnAlgorithm(diamond, metrics).sortWithResult();
+
+        assertTrue(result.isDAG());
+        assertTrue(result.getCycle().isEmpty());
+        assertEquals(List.of(0, 1, 2, 3, 4), result.getOrder());
+    }
+
+    @Test
+    public void testOrderMustBePermutation() {
+        TopologicalOrder order = TopologicalOrder.fromArray(new int[]{2, 0, 1});
+        assertEquals(0, order.positionOf(2));
+        assertEquals(2, order.positionOf(1));
+
+        assertThrows(IllegalArgumentException.class, () -> TopologicalOrder.fromArray(new int[]{0, 1, 1}),
+                "A duplicate leaves a vertex out");
+        assertThrows(IllegalArgumentException.class, () -> TopologicalOrder.fromArray(new int[]{0, 3, 1}));
+        assertThrows(IllegalArgumentException.class, () -> TopologicalOrder.fromArray(new int[]{-1, 0}));
+        assertEquals(0, TopologicalOrder.fromArray(new int[0]).size());
+    }
+
+    @Test
+    public void testParallelLevels() {
+        ParallelKahn kahn = new ParallelKahn(diamond, metrics, new ForkJoinPool(2));
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, kahn.sort());
+        assertArrayEquals(new int[]{0, 1, 1, 2, 3}, kahn.getLevels());
+        assertEquals(4, kahn.getNumLevels());
+        assertTrue(kahn.isValidDAG());
+    }
+
+    @Test
+    public void testParallelOnWideRandomDAG() {
+        // Wide enough that frontiers are processed in parallel chunks
+        Random random = new Random(3);
+        int n = 50_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i < 5 * n; i++) {
+            int u = random.nextInt(n - 1);
+            builder.addEdge(u, u + 1 + random.nextInt(Math.min(5_000, n - u - 1)), 1);
+        }
+        CSRGraph dag = builder.build();
+
+        ParallelKahn kahn = new ParallelKahn(dag, metrics, new ForkJoinPool(4));
+        int[] order = kahn.sort();
+        int[] levels = kahn.getLevels();
+
+        assertEquals(n, order.length);
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int i = 0; i < dag.getOutDegree(u); i++) {
+                int v = dag.getEdgeTarget(u, i);
+                assertTrue(position[u] < position[v], "Edge " + u + "->" + v + " out of order");
+                assertTrue(levels[u] < levels[v], "Level must grow along edge " + u + "->" + v);
+            }
+        }
+        assertArrayEquals(order, new ParallelKahn(dag, metrics, new ForkJoinPool(3)).sort(),
+                "Order should not depend on the pool");
+    }
+
+    @Test
+    public void testParallelReportsSameOperationCounts() {
+        // Wide enough for parallel chunks, plus a cycle so the tail of the graph is never released
+        Random random = new Random(11);
+        int n = 50_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i < 5 * n; i++) {
+            int u = random.nextInt(n - 1);
+            builder.addEdge(u, u + 1 + random.nextInt(Math.min(5_000, n - u - 1)), 1);
+        }
+        builder.addEdge(n - 2, n - 1, 1);
+        builder.addEdge(n - 1, n - 2, 1);
+        CSRGraph graph = builder.build();
+
+        SimpleMetrics sequential = new SimpleMetrics();
+        new KahnAlgorithm(graph, sequential).sort();
+        SimpleMetrics parallel = new SimpleMetrics();
+        new ParallelKahn(graph, parallel, new ForkJoinPool(4)).sort();
+
+        for (String operation : List.of("In-degree calculations", "Queue insertions", "Queue removals",
+                "Edge relaxations")) {
+            assertEquals(sequential.getOperationCount(operation), parallel.getOperationCount(operation), operation);
+        }
+        assertTrue(parallel.getOperationCount("Queue removals") < n, "The cycle is never released");
+        assertTrue(parallel.getOperationCount("Edge relaxations") > 0);
+    }
+
+    @Test
+    public void testParallelDetectsCycle() {
+        Graph cyclic = new Graph(3, true);
+        cyclic.addEdge(0, 1, 1);
+        cyclic.addEdge(1, 2, 1);
+        cyclic.addEdge(2, 1, 1);
+
+        ParallelKahn kahn = new ParallelKahn(cyclic, metrics);
+        assertArrayEquals(new int[]{0}, kahn.sort());
+        assertFalse(kahn.isValidDAG());
+        assertEquals(-1, kahn.getLevels()[2]);
+    }
+}
@@ -0,0 +1,165 @@
+package kz.edu.daa.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+    @TempDir
+    Path tempDir;
+
+    private List<String> files(int count, int bytes) throws IOException {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path file = tempDir.resolve("f" + i);
+            Files.write(file, new byte[bytes]);
+            files.add(file.toString());
+        }
+        return files;
+    }
+
+    @Test
+    public void testOutcomesInInputOrder() throws Exception {
+        List<String> files = files(12, 10);
+        List<String> seen = new ArrayList<>();
+
+        List<BatchRunner.Outcome<Integer>> outcomes = new BatchRunner(4, 1 << 30).run(files, (file, out) -> {
+            int index = files.indexOf(file);
+            Thread.sleep((12 - index) * 3L); // later files finish first
+            out.println("task " + index);
+            if (index == 5) {
+                throw new IOException("broken " + index);
+            }
+            return index;
+        }, outcome -> seen.add(outcome.getFilePath()));
+
+        assertEquals(files, seen, "Callbacks should follow input order");
+        for (int i = 0; i < files.size(); i++) {
+            BatchRunner.Outcome<Integer> outcome = outcomes.get(i);
+            assertEquals(files.get(i), outcome.getFilePath());
+            assertEquals("task " + i + System.lineSeparator(), outcome.getOutput(), "Output is buffered per task");
+            if (i == 5) {
+                assertFalse(outcome.isSuccess());
+                assertEquals("broken 5", outcome.getError().getMessage());
+            } else {
+                assertEquals(i, outcome.getResult());
+            }
+        }
+    }
+
+    @Test
+    public void testMemoryLimitBoundsConcurrency() throws Exception {
+        // Each file reserves 4 x 256 KB = 1 MB; a 2 MB budget admits two tasks at a time
+        List<String> files = files(8, 256 * 1024);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        new BatchRunner(8, 2L * 1024 * 1024).run(files, (file, out) -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        });
+
+        assertTrue(peak.get() <= 2, "At most two tasks fit the memory budget, saw " + peak.get());
+    }
+
+    @Test
+    public void testOversizedFileStillRuns() throws Exception {
+        List<String> files = files(1, 1024 * 1024);
+        List<BatchRunner.Outcome<String>> outcomes = new BatchRunner(2, 1024 * 1024).run(files, (file, out) -> "done");
+        assertEquals("done", outcomes.get(0).getResult());
+    }
+
+    @Test
+    public void testLoadsOverlapWithSingleWorker() throws Exception {
+        // Eight 50 ms loads would take 400 ms back to back; the I/O stage overlaps them
+        List<String> files = files(8, 10);
+        long start = System.nanoTime();
+        List<BatchRunner.Outcome<String>> outcomes = new BatchRunner(1, 1 << 30).run(files, file -> {
+            Thread.sleep(50);
+            return "loaded " + files.indexOf(file);
+        }, (file, loaded, out) -> loaded, outcome -> { });
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals("loaded " + i, outcomes.get(i).getResult(), "Outcomes stay in input order");
+        }
+        assertTrue(elapsedMs < 300, "Loads should run concurrently, took " + elapsedMs + " ms");
+    }
+
+    @Test
+    public void testQueueBackpressureBoundsLoadedGraphs() throws Exception {
+        // One slow worker: at most ioConcurrency loaders may hold a graph that is not yet processed
+        List<String> files = files(20, 10);
+        AtomicInteger loadedNotProcessed = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        new BatchRunner(1, 1 << 30, 3).run(files, file -> {
+            peak.accumulateAndGet(loadedNotProcessed.incrementAndGet(), Math::max);
+            return file;
+        }, (file, loaded, out) -> {
+            Thread.sleep(5);
+            loadedNotProcessed.decrementAndGet();
+            return null;
+        }, outcome -> { });
+
+        // queue (2 per worker) + the one being processed + loaders blocked on a full queue
+        assertTrue(peak.get() <= 2 + 1 + 3, "Loading should not run ahead of processing, saw " + peak.get());
+    }
+
+    @Test
+    public void testLoadFailureIsReported() throws Exception {
+        List<String> files = files(3, 10);
+        List<BatchRunner.Outcome<Integer>> outcomes = new BatchRunner(2, 1 << 30).run(files, file -> {
+            if (file.equals(files.get(1))) {
+                throw new IOException("unreadable");
+            }
+            return file;
+        }, (file, loaded, out) -> files.indexOf(loaded), outcome -> { });
+
+        assertEquals(0, outcomes.get(0).getResult());
+        assertFalse(outcomes.get(1).isSuccess(), "A failed load should fail only its own file");
+        assertEquals("unreadable", outcomes.get(1).getError().getMessage());
+        assertEquals(2, outcomes.get(2).getResult());
+    }
+
+    @Test
+    public void testProcessorErrorFailsRunInsteadOfHanging() throws Exception {
+        List<String> files = files(4, 10);
+        BatchRunner runner = new BatchRunner(2, 1 << 30);
+
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(IllegalStateException.class, () -> runner.run(files, (file, out) -> {
+                    if (file.equals(files.get(1))) {
+                        throw new StackOverflowError("deep graph");
+                    }
+                    return file;
+                })));
+        assertInstanceOf(StackOverflowError.class, e.getCause());
+    }
+
+    @Test
+    public void testLoaderErrorFailsRunInsteadOfHanging() throws Exception {
+        List<String> files = files(4, 10);
+        BatchRunner runner = new BatchRunner(2, 1 << 30);
+
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(IllegalStateException.class, () -> runner.run(files, file -> {
+                    if (file.equals(files.get(3))) {
+                        throw new OutOfMemoryError("huge file");
+                    }
+                    return file;
+                }, (file, loaded, out) -> loaded, outcome -> { })));
+        assertInstanceOf(OutOfMemoryError.class, e.getCause());
+    }
+}
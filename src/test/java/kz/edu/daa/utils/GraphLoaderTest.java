@@ -0,0 +1,155 @@
+package kz.edu.daa.utils;
+
+import kz.edu.daa.graph.model.AdjacencyGraph;
+import kz.edu.daa.graph.model.CSRGraph;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.model.MappedCSRGraph;
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    private String write(String json) throws IOException {
+        Path file = Files.createTempFile(tempDir, "graph", ".json");
+        Files.writeString(file, json);
+        return file.toString();
+    }
+
+    @Test
+    public void testLoadMatchesDatasetFile() throws IOException {
+        LoadedGraph loaded = GraphLoader.load("data/tasks.json");
+        Graph expected = GraphLoader.loadFromJson("data/tasks.json");
+        AdjacencyGraph graph = loaded.getGraph();
+
+        assertTrue(graph instanceof CSRGraph);
+        assertEquals(4, loaded.getSource());
+        assertEquals("edge", loaded.getWeightModel());
+        assertEquals(expected.getNumVertices(), graph.getNumVertices());
+        assertEquals(expected.getNumEdges(), graph.getNumEdges());
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            assertEquals(expected.getOutDegree(u), graph.getOutDegree(u), "Out-degree of " + u);
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertEquals(expected.getEdgeTarget(u, i), graph.getEdgeTarget(u, i));
+                assertEquals(expected.getEdgeWeight(u, i), graph.getEdgeWeight(u, i));
+            }
+        }
+    }
+
+    @Test
+    public void testEdgesBeforeSizeAreBuffered() throws IOException {
+        String file = write("{\"edges\": [{\"w\": 5, \"v\": 2, \"u\": 0}, {\"u\": 2, \"v\": 1, \"w\": 3}],"
+                + " \"comment\": {\"ignored\": [1, 2]}, \"weight_model\": \"node\", \"n\": 3, \"directed\": false}");
+        LoadedGraph loaded = GraphLoader.load(file);
+
+        assertEquals(3, loaded.getGraph().getNumVertices());
+        assertEquals(2, loaded.getGraph().getNumEdges());
+        assertEquals(2, loaded.getGraph().getOutDegree(2), "Undirected edges should be mirrored");
+        assertEquals(0, loaded.getSource(), "Missing source should default to 0");
+        assertEquals("node", loaded.getWeightModel());
+        assertEquals("node", GraphLoader.getWeightModel(file));
+    }
+
+    @Test
+    public void testMalformedFilesRejected() throws IOException {
+        String noSize = write("{\"directed\": true, \"edges\": []}");
+        String noWeight = write("{\"directed\": true, \"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1}]}");
+        String badToken = write("{\"directed\": true, \"n\": \"two\", \"edges\": []}");
+        String badVertex = write("{\"directed\": true, \"n\": 2, \"edges\": [{\"u\": 0, \"v\": 5, \"w\": 1}]}");
+        String badSource = write("{\"directed\": true, \"n\": 2, \"source\": 2, \"edges\": []}");
+
+        assertThrows(IOException.class, () -> GraphLoader.load(noSize));
+        assertThrows(IOException.class, () -> GraphLoader.load(noWeight));
+        assertThrows(IOException.class, () -> GraphLoader.load(badToken));
+        IOException e = assertThrows(IOException.class, () -> GraphLoader.load(badVertex));
+        assertTrue(e.getMessage().startsWith("Malformed graph file"), e.getMessage());
+        assertThrows(IOException.class, () -> GraphLoader.loadFromJson(badVertex));
+        e = assertThrows(IOException.class, () -> GraphLoader.load(badSource));
+        assertTrue(e.getMessage().contains("Source vertex 2"), e.getMessage());
+        assertThrows(IOException.class, () -> GraphLoader.getSource(badSource));
+        assertEquals(0, GraphLoader.load(write("{\"directed\": true, \"n\": 0, \"edges\": []}")).getSource(),
+                "An empty graph keeps the default source");
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        LoadedGraph json = GraphLoader.load("data/generated/dataset_large_complex.json");
+        String binaryPath = tempDir.resolve("complex" + GraphBinaryFormat.FILE_EXTENSION).toString();
+        GraphLoader.writeBinary(json, binaryPath);
+
+        LoadedGraph binary = GraphLoader.load(binaryPath);
+        AdjacencyGraph expected = json.getGraph();
+        AdjacencyGraph graph = binary.getGraph();
+
+        assertTrue(graph instanceof MappedCSRGraph, "Binary files should be memory-mapped");
+        assertEquals(json.getSource(), binary.getSource());
+        assertEquals(json.getWeightModel(), binary.getWeightModel());
+        assertEquals(expected.getNumEdges(), graph.getNumEdges());
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            assertEquals(expected.getOutDegree(u), graph.getOutDegree(u), "Out-degree of " + u);
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertEquals(expected.getEdgeTarget(u, i), graph.getEdgeTarget(u, i));
+                assertEquals(expected.getEdgeWeight(u, i), graph.getEdgeWeight(u, i));
+            }
+        }
+
+        List<List<Integer>> sccs = new TarjanSCC(graph, new SimpleMetrics()).findSCCs();
+        assertEquals(new TarjanSCC(expected, new SimpleMetrics()).findSCCs(), sccs,
+                "Algorithms should run unchanged on the mapped graph");
+    }
+
+    @Test
+    public void testUndirectedBinaryKeepsBothDirections() throws IOException {
+        Graph graph = new Graph(3, false);
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(1, 2, 6);
+        String path = tempDir.resolve("undirected" + GraphBinaryFormat.FILE_EXTENSION).toString();
+        GraphLoader.writeBinary(new LoadedGraph(graph, 2, "node"), path);
+
+        AdjacencyGraph mapped = GraphLoader.loadBinary(path).getGraph();
+        assertFalse(mapped.isDirected());
+        assertEquals(2, mapped.getNumEdges());
+        assertEquals(2, mapped.getOutDegree(1));
+    }
+
+    @Test
+    public void testTruncatedBinaryRejected() throws IOException {
+        String path = tempDir.resolve("cut" + GraphBinaryFormat.FILE_EXTENSION).toString();
+        GraphLoader.writeBinary(GraphLoader.load("data/tasks.json"), path);
+        byte[] bytes = Files.readAllBytes(Path.of(path));
+        Files.write(Path.of(path), Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> GraphLoader.loadBinary(path));
+    }
+
+    @Test
+    public void testUnmappableSizeRejectedInHeader() {
+        // 600M arcs fit the int offsets but not one 2 GB mapping
+        GraphBinaryFormat.Header header = new GraphBinaryFormat.Header(10, 600_000_000L, true, 0, "edge");
+        IOException e = assertThrows(IOException.class,
+                () -> GraphBinaryFormat.decodeHeader(GraphBinaryFormat.encodeHeader(header)));
+        assertTrue(e.getMessage().contains("too large to map"), e.getMessage());
+    }
+
+    @Test
+    public void testSourceOutsideGraphRejectedInHeader() throws IOException {
+        GraphBinaryFormat.Header header = new GraphBinaryFormat.Header(3, 0, true, 3, "edge");
+        IOException e = assertThrows(IOException.class,
+                () -> GraphBinaryFormat.decodeHeader(GraphBinaryFormat.encodeHeader(header)));
+        assertTrue(e.getMessage().contains("Source vertex 3"), e.getMessage());
+
+        GraphBinaryFormat.Header empty = new GraphBinaryFormat.Header(0, 0, true, 0, "edge");
+        assertEquals(0, GraphBinaryFormat.decodeHeader(GraphBinaryFormat.encodeHeader(empty)).getSource());
+    }
+}
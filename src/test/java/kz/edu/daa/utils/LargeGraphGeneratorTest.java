@@ -0,0 +1,117 @@
+package kz.edu.daa.utils;
+
+import kz.edu.daa.graph.metrics.SimpleMetrics;
+import kz.edu.daa.graph.model.Graph;
+import kz.edu.daa.graph.scc.TarjanSCC;
+import kz.edu.daa.graph.topo.KahnAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LargeGraphGeneratorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testJsonLoadsWithExactEdgeCount() throws IOException {
+        Path file = tempDir.resolve("er.json");
+        new LargeGraphGenerator.Builder(LargeGraphGenerator.Model.ER, 200_000, 600_000).seed(3).build()
+                .writeJson(file);
+
+        Graph graph = GraphLoader.loadFromJson(file.toString());
+        assertEquals(200_000, graph.getNumVertices());
+        assertEquals(600_000, graph.getNumEdges(), "Generator should emit exactly m edges");
+        assertEquals(0, GraphLoader.getSource(file.toString()));
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertNotEquals(u, graph.getEdgeTarget(u, i), "ER graph should have no self-loops");
+            }
+        }
+    }
+
+    @Test
+    public void testOutputIndependentOfThreadCount() throws IOException {
+        Path single = tempDir.resolve("single.json");
+        Path multi = tempDir.resolve("multi.json");
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            new LargeGraphGenerator.Builder(LargeGraphGenerator.Model.RMAT, 300_000, 1_000_000)
+                    .seed(11).pool(one).build().writeJson(single);
+            new LargeGraphGenerator.Builder(LargeGraphGenerator.Model.RMAT, 300_000, 1_000_000)
+                    .seed(11).pool(four).build().writeJson(multi);
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+        assertEquals(-1, Files.mismatch(single, multi), "Same seed should give identical files");
+    }
+
+    @Test
+    public void testPlantedSCCsAreRecovered() throws IOException {
+        Path file = tempDir.resolve("planted.json");
+        new LargeGraphGenerator.Builder(LargeGraphGenerator.Model.PLANTED, 10_000, 40_000).sccSize(25).build()
+                .writeJson(file);
+
+        Graph graph = GraphLoader.loadFromJson(file.toString());
+        int sccs = new TarjanSCC(graph, new SimpleMetrics()).findSCCs().size();
+        assertEquals(400, sccs, "Each planted ring should be exactly one SCC");
+    }
+
+    @Test
+    public void testLayeredIsDAG() throws IOException {
+        Path file = tempDir.resolve("layered.json");
+        new LargeGraphGenerator.Builder(LargeGraphGenerator.Model.LAYERED, 5_000, 20_000).layers(50)
+                .weights(LargeGraphGenerator.WeightDistribution.exponential(5)).build()
+                .writeJson(file);
+
+        Graph graph = GraphLoader.loadFromJson(file.toString());
+        assertTrue(new KahnAlgorithm(graph, new SimpleMetrics()).sortWithResult().isDAG());
+    }
+
+    @Test
+    public void testBinaryMatchesJson() throws IOException {
+        Path json = tempDir.resolve("g.json");
+        Path binary = tempDir.resolve("g" + GraphBinaryFormat.FILE_EXTENSION);
+        LargeGraphGenerator generator = new LargeGraphGenerator.Builder(LargeGraphGenerator.Model.ER, 70_000, 210_000)
+                .seed(5).source(7).build();
+        generator.writeJson(json);
+        generator.writeBinary(binary);
+
+        Graph graph = GraphLoader.loadFromJson(json.toString());
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(binary)).order(GraphBinaryFormat.BYTE_ORDER);
+        GraphBinaryFormat.Header header = GraphBinaryFormat.decodeHeader(bytes);
+        assertEquals(70_000, header.getNumVertices());
+        assertEquals(210_000, header.getNumEdges());
+        assertEquals(7, header.getSource());
+        assertEquals("edge", header.getWeightModel());
+        assertTrue(header.isDirected());
+        assertEquals(header.fileSize(), Files.size(binary));
+
+        IntBuffer offsets = bytes.position((int) header.offsetsPosition()).slice().order(GraphBinaryFormat.BYTE_ORDER).asIntBuffer();
+        IntBuffer targets = bytes.position((int) header.targetsPosition()).slice().order(GraphBinaryFormat.BYTE_ORDER).asIntBuffer();
+        IntBuffer weights = bytes.position((int) header.weightsPosition()).slice().order(GraphBinaryFormat.BYTE_ORDER).asIntBuffer();
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            int start = offsets.get(u);
+            assertEquals(graph.getOutDegree(u), offsets.get(u + 1) - start, "Out-degree of " + u);
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertEquals(graph.getEdgeTarget(u, i), targets.get(start + i));
+                assertEquals(graph.getEdgeWeight(u, i), weights.get(start + i));
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsCorruptHeader() {
+        ByteBuffer bytes = ByteBuffer.allocate(GraphBinaryFormat.HEADER_SIZE);
+        assertThrows(IOException.class, () -> GraphBinaryFormat.decodeHeader(bytes));
+    }
+}